@@ -0,0 +1,56 @@
+package com.epam.java.persistance.demo.benchmarks;
+
+import com.epam.java.persistance.demo.domain.GroupDto;
+import com.epam.java.persistance.demo.domain.StudentIds;
+import com.epam.java.persistance.demo.entity.Group;
+import com.epam.java.persistance.demo.entity.Student;
+import com.epam.java.persistance.demo.mapper.GroupMapper;
+import com.epam.java.persistance.demo.mapper.GroupMapperImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GroupMapperBenchmark {
+
+    @Param({"10", "1000", "10000"})
+    private int rosterSize;
+
+    private final GroupMapper mapper = new GroupMapperImpl();
+    private Group group;
+    private GroupDto dto;
+
+    @Setup
+    public void setUp() {
+        Set<Student> students = new HashSet<>(rosterSize * 2);
+        for (long i = 1; i <= rosterSize; i++) {
+            students.add(new Student(i, "First" + i, "Last" + i, "student" + i + "@example.com", 20));
+        }
+        group = new Group(1L, "Group", "G1", LocalDate.now(), LocalDate.now().plusMonths(3),
+                rosterSize, "Benchmark group", rosterSize, 0L, students);
+        dto = mapper.toGroupDto(group);
+    }
+
+    @Benchmark
+    public GroupDto toGroupDto() {
+        return mapper.toGroupDto(group);
+    }
+
+    @Benchmark
+    public StudentIds studentsToIds() {
+        return mapper.studentsToIds(group.getStudents());
+    }
+
+    @Benchmark
+    public Group toGroupEntity() {
+        return mapper.toGroupEntity(dto);
+    }
+}
@@ -0,0 +1,137 @@
+package com.epam.java.persistance.demo.benchmarks;
+
+import com.epam.java.persistance.demo.DemoApplication;
+import com.epam.java.persistance.demo.domain.GroupDto;
+import com.epam.java.persistance.demo.domain.GroupSearchPage;
+import com.epam.java.persistance.demo.domain.GroupSummaryDto;
+import com.epam.java.persistance.demo.service.GroupService;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service and repository paths against a real PostgreSQL. An embedded server is
+ * started unless {@code -Dbench.jdbcUrl} (plus {@code bench.username} and
+ * {@code bench.password}) points at a scratch database; the tables there are
+ * truncated and reseeded for every trial. Caches are disabled so each call
+ * reaches the database.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GroupServiceBenchmark {
+
+    @Param({"1000"})
+    private int groups;
+
+    @Param({"20"})
+    private int studentsPerGroup;
+
+    @Param({"10000"})
+    private int students;
+
+    private EmbeddedPostgres postgres;
+    private ConfigurableApplicationContext context;
+    private GroupService groupService;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        String url = System.getProperty("bench.jdbcUrl");
+        String username = System.getProperty("bench.username", "postgres");
+        String password = System.getProperty("bench.password", "postgres");
+        if (url == null) {
+            postgres = EmbeddedPostgres.start();
+            url = postgres.getJdbcUrl("postgres", "postgres");
+        }
+        context = new SpringApplicationBuilder(DemoApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=" + url,
+                        "spring.datasource.username=" + username,
+                        "spring.datasource.password=" + password,
+                        "spring.jpa.show-sql=false",
+                        "spring.cache.caffeine.spec=maximumSize=0",
+                        "app.cache.invalidation.enabled=false",
+                        "logging.level.root=WARN")
+                .run();
+        seed(context.getBean(JdbcTemplate.class));
+        groupService = context.getBean(GroupService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        if (context != null) {
+            context.close();
+        }
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    private void seed(JdbcTemplate jdbc) {
+        jdbc.execute("TRUNCATE group_students, groups, students RESTART IDENTITY CASCADE");
+        jdbc.update("""
+                INSERT INTO students (first_name, last_name, email, age)
+                SELECT 'First' || i, 'Last' || i, 'student' || i || '@example.com', 18 + i % 40
+                FROM generate_series(1, ?) AS i
+                """, students);
+        jdbc.update("""
+                INSERT INTO groups (name, code, start_date, end_date, max_capacity, description)
+                SELECT 'Group ' || i, 'G' || i, CURRENT_DATE - (i % 60), CURRENT_DATE + (i % 90),
+                       ? + i % 10, 'Benchmark group ' || i
+                FROM generate_series(1, ?) AS i
+                """, studentsPerGroup, groups);
+        jdbc.update("""
+                INSERT INTO group_students (group_id, student_id)
+                SELECT g, 1 + (g * ? + s) % ?
+                FROM generate_series(1, ?) AS g, generate_series(0, ? - 1) AS s
+                ON CONFLICT DO NOTHING
+                """, studentsPerGroup, students, groups, studentsPerGroup);
+        jdbc.execute("ANALYZE");
+    }
+
+    private long randomGroupId() {
+        return ThreadLocalRandom.current().nextLong(1, groups + 1);
+    }
+
+    @Benchmark
+    public List<GroupDto> getAllGroups() {
+        return groupService.getAllGroups(null, 100);
+    }
+
+    @Benchmark
+    public GroupDto getGroupById() {
+        return groupService.getGroupById(randomGroupId());
+    }
+
+    @Benchmark
+    public GroupDto getGroupByCode() {
+        return groupService.getGroupByCode("G" + randomGroupId());
+    }
+
+    @Benchmark
+    public List<GroupDto> getGroupsWithAvailableSpots() {
+        return groupService.getGroupsWithAvailableSpots(null, 100);
+    }
+
+    @Benchmark
+    public List<GroupSummaryDto> getGroupEnrollmentCounts() {
+        return groupService.getGroupEnrollmentCounts(0, 20);
+    }
+
+    @Benchmark
+    public GroupSearchPage searchGroups() {
+        return groupService.searchGroups("Group 12", null, 20);
+    }
+}
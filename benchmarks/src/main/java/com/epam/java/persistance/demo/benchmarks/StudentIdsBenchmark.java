@@ -0,0 +1,56 @@
+package com.epam.java.persistance.demo.benchmarks;
+
+import com.epam.java.persistance.demo.domain.StudentIds;
+import com.epam.java.persistance.demo.entity.Student;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Turning a roster into ids and serializing them, boxed {@code HashSet<Long>} versus
+ * {@link StudentIds}. Run with {@code -prof gc} to compare {@code gc.alloc.rate.norm},
+ * e.g. {@code -Dbenchmark.args="StudentIds -prof gc"}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StudentIdsBenchmark {
+
+    @Param({"1000", "10000"})
+    private int rosterSize;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private Set<Student> roster;
+
+    @Setup
+    public void setUp() {
+        roster = new HashSet<>(rosterSize * 2);
+        for (long id = 1; id <= rosterSize; id++) {
+            roster.add(new Student(id * 7, "First", "Last", "student" + id + "@example.com", 20));
+        }
+    }
+
+    @Benchmark
+    public void boxedSet() throws IOException {
+        objectMapper.writeValue(OutputStream.nullOutputStream(),
+                roster.stream().map(Student::getId).collect(Collectors.toSet()));
+    }
+
+    @Benchmark
+    public void studentIds() throws IOException {
+        StudentIds.Builder ids = StudentIds.builder(roster.size());
+        for (Student student : roster) {
+            ids.add(student.getId());
+        }
+        objectMapper.writeValue(OutputStream.nullOutputStream(), ids.build());
+    }
+}
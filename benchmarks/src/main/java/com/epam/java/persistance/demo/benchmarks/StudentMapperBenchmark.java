@@ -0,0 +1,38 @@
+package com.epam.java.persistance.demo.benchmarks;
+
+import com.epam.java.persistance.demo.domain.StudentDto;
+import com.epam.java.persistance.demo.entity.Student;
+import com.epam.java.persistance.demo.mapper.StudentMapper;
+import com.epam.java.persistance.demo.mapper.StudentMapperImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StudentMapperBenchmark {
+
+    private final StudentMapper mapper = new StudentMapperImpl();
+    private Student student;
+    private StudentDto dto;
+
+    @Setup
+    public void setUp() {
+        student = new Student(1L, "Ada", "Lovelace", "ada@example.com", 36);
+        dto = mapper.toStudentDto(student);
+    }
+
+    @Benchmark
+    public StudentDto toStudentDto() {
+        return mapper.toStudentDto(student);
+    }
+
+    @Benchmark
+    public Student toStudentEntity() {
+        return mapper.toStudentEntity(dto);
+    }
+}
@@ -0,0 +1,111 @@
+package com.epam.java.persistance.demo.bulkhead;
+
+import com.epam.java.persistance.demo.exception.BulkheadFullException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Caps the number of threads inside the data access layer at the size of the connection
+ * pool. With virtual threads there is no longer a request thread limit in front of the
+ * pool, so callers queue here on a fair semaphore instead of piling up inside Hikari.
+ * <p>
+ * The permit is taken at the outermost service or repository call on a thread and held
+ * until it returns. The aspect runs before the transaction interceptor, so a permit is
+ * always held before a connection is borrowed, and nested calls never wait for a second
+ * permit. The cache interceptor and {@code RequestCoalescer} run further out, so cache hits
+ * and callers that join a load already in flight never take a permit.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+public class DatabaseBulkhead {
+
+    private final ThreadLocal<Boolean> holding = new ThreadLocal<>();
+    private final Semaphore permits;
+    private final long maxWaitNanos;
+    private final Timer waitTimer;
+
+    public DatabaseBulkhead(MeterRegistry registry,
+                            @Value("${app.db.bulkhead.permits:${spring.datasource.hikari.maximum-pool-size:10}}") int permits,
+                            @Value("${app.db.bulkhead.max-wait:30s}") Duration maxWait) {
+        this.permits = new Semaphore(permits, true);
+        this.maxWaitNanos = maxWait.toNanos();
+        this.waitTimer = Timer.builder("app.db.bulkhead.wait")
+                .description("Time spent waiting for a database permit")
+                .publishPercentileHistogram()
+                .register(registry);
+        Gauge.builder("app.db.bulkhead.queue", this.permits, Semaphore::getQueueLength)
+                .description("Threads waiting for a database permit")
+                .register(registry);
+        Gauge.builder("app.db.bulkhead.available", this.permits, Semaphore::availablePermits)
+                .description("Free database permits")
+                .register(registry);
+    }
+
+    @Around("(execution(public * com.epam.java.persistance.demo.service..*(..))"
+            + " || this(org.springframework.data.repository.Repository))"
+            + " && !@within(com.epam.java.persistance.demo.bulkhead.SkipBulkhead)"
+            + " && !@annotation(com.epam.java.persistance.demo.bulkhead.SkipBulkhead)")
+    public Object guard(ProceedingJoinPoint joinPoint) throws Throwable {
+        return enter(maxWaitNanos, joinPoint::proceed);
+    }
+
+    /**
+     * Runs {@code work} holding a permit like a guarded call, but waits at most
+     * {@code maxWait} for it; for callers that give up on the result sooner than the
+     * configured wait. Calls made by {@code work} do not take another permit.
+     */
+    public <T> T withPermit(Duration maxWait, Supplier<T> work) {
+        try {
+            @SuppressWarnings("unchecked")
+            T result = (T) enter(maxWait.toNanos(), work::get);
+            return result;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BulkheadFullException("Interrupted while waiting for a database permit");
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Object enter(long waitNanos, Invocation invocation) throws Throwable {
+        if (holding.get() != null) {
+            return invocation.proceed();
+        }
+
+        long start = System.nanoTime();
+        boolean acquired = permits.tryAcquire(Math.max(waitNanos, 0), TimeUnit.NANOSECONDS);
+        waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (!acquired) {
+            throw new BulkheadFullException("Database is busy, try again later");
+        }
+
+        holding.set(Boolean.TRUE);
+        try {
+            return invocation.proceed();
+        } finally {
+            holding.remove();
+            permits.release();
+        }
+    }
+
+    @FunctionalInterface
+    private interface Invocation {
+        Object proceed() throws Throwable;
+    }
+}
@@ -0,0 +1,17 @@
+package com.epam.java.persistance.demo.bulkhead;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Exempts a service type or method from {@link DatabaseBulkhead}. Meant for methods that
+ * never touch a connection themselves: ones served from memory, and ones that fan out to
+ * other threads that do, where holding a permit while waiting for them could exhaust the
+ * permits the workers need.
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface SkipBulkhead {
+}
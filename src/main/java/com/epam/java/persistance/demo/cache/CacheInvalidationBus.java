@@ -0,0 +1,272 @@
+package com.epam.java.persistance.demo.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Propagates cache evictions between application nodes over PostgreSQL LISTEN/NOTIFY.
+ * <p>
+ * Notifications are issued on the caller's connection, so PostgreSQL delivers them only
+ * once the surrounding transaction commits and drops them on rollback. All evictions of a
+ * transaction go out together in a single NOTIFY. Each node keeps
+ * one dedicated connection outside the pool that listens on the channel and evicts the
+ * announced keys from its local caches, then publishes a {@link RemoteEvictionEvent} so
+ * other node-local state derived from the same rows can follow. After a reconnect it
+ * clears every cache and publishes a {@link RemoteResetEvent} instead, since whatever was
+ * announced in between is lost.
+ */
+@Slf4j
+@Component
+public class CacheInvalidationBus implements SmartLifecycle {
+
+    private static final String ID_KEY = "L";
+    private static final String CODE_KEY = "S";
+    private static final long RECONNECT_DELAY_MS = 5_000;
+    private static final int MAX_PAYLOAD_BYTES = 7_900;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSourceProperties dataSourceProperties;
+    private final CacheManager cacheManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final String channel;
+    private final int pollTimeoutMs;
+    private final boolean enabled;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private volatile boolean running;
+    private volatile Connection listenerConnection;
+    private Thread listenerThread;
+
+    public CacheInvalidationBus(JdbcTemplate jdbcTemplate,
+                                DataSourceProperties dataSourceProperties,
+                                CacheManager cacheManager,
+                                ApplicationEventPublisher eventPublisher,
+                                @Value("${app.cache.invalidation.channel:cache_invalidation}") String channel,
+                                @Value("${app.cache.invalidation.poll-timeout-ms:500}") int pollTimeoutMs,
+                                @Value("${app.cache.invalidation.enabled:true}") boolean enabled) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSourceProperties = dataSourceProperties;
+        this.cacheManager = cacheManager;
+        this.eventPublisher = eventPublisher;
+        this.channel = channel;
+        this.pollTimeoutMs = pollTimeoutMs;
+        this.enabled = enabled;
+    }
+
+    // Inside a transaction the entries are collected and sent as one NOTIFY just before it
+    // commits, however many caches and keys the transaction evicts.
+    public void publish(String cacheName, List<?> keys) {
+        if (!enabled || keys.isEmpty()) {
+            return;
+        }
+
+        List<String> entries = new ArrayList<>(keys.size());
+        for (Object key : keys) {
+            entries.add(cacheName + '|' + (key instanceof Long ? ID_KEY : CODE_KEY) + '|' + key);
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            send(entries);
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        Set<String> pending = (Set<String>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new LinkedHashSet<>();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(new PendingNotification(pending));
+        }
+        pending.addAll(entries);
+    }
+
+    // PostgreSQL caps a payload at 8000 bytes, so a large batch is split over several NOTIFYs.
+    private void send(Collection<String> entries) {
+        StringBuilder payload = new StringBuilder(nodeId);
+        int payloadBytes = nodeId.length();
+        for (String entry : entries) {
+            int entryBytes = entry.getBytes(StandardCharsets.UTF_8).length + 1;
+            if (payloadBytes > nodeId.length() && payloadBytes + entryBytes > MAX_PAYLOAD_BYTES) {
+                notify(payload.toString());
+                payload.setLength(0);
+                payload.append(nodeId);
+                payloadBytes = nodeId.length();
+            }
+            payload.append('\n').append(entry);
+            payloadBytes += entryBytes;
+        }
+        notify(payload.toString());
+    }
+
+    private void notify(String payload) {
+        jdbcTemplate.query("SELECT pg_notify(?, ?)", resultSet -> {
+        }, channel, payload);
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        listenerThread = new Thread(this::listen, "cache-invalidation-listener");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (listenerThread != null) {
+            listenerThread.interrupt();
+            closeQuietly(listenerConnection);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void listen() {
+        boolean reconnecting = false;
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(
+                    dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(),
+                    dataSourceProperties.determinePassword())) {
+                listenerConnection = connection;
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+
+                // Anything published while this node was disconnected has been missed.
+                if (reconnecting) {
+                    clearAll();
+                    eventPublisher.publishEvent(new RemoteResetEvent());
+                }
+                log.info("Listening for cache invalidations on channel {}", channel);
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(pollTimeoutMs);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            apply(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Cache invalidation listener lost its connection, retrying in {} ms", RECONNECT_DELAY_MS, e);
+                reconnecting = true;
+                try {
+                    Thread.sleep(RECONNECT_DELAY_MS);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void apply(String payload) {
+        String[] lines = payload.split("\n");
+        if (lines.length == 0 || nodeId.equals(lines[0])) {
+            return;
+        }
+
+        for (int i = 1; i < lines.length; i++) {
+            String[] parts = lines[i].split("\\|", 3);
+            if (parts.length != 3) {
+                log.warn("Ignoring malformed cache invalidation entry: {}", lines[i]);
+                continue;
+            }
+            // A bad entry or a failing event listener must not end the listener thread, or this
+            // node would silently stop applying evictions from the others.
+            try {
+                Object key = ID_KEY.equals(parts[1]) ? Long.valueOf(parts[2]) : parts[2];
+                Cache cache = cacheManager.getCache(parts[0]);
+                if (cache != null) {
+                    cache.evict(key);
+                }
+                eventPublisher.publishEvent(new RemoteEvictionEvent(parts[0], key));
+            } catch (RuntimeException e) {
+                log.warn("Failed to apply cache invalidation entry: {}", lines[i], e);
+            }
+        }
+    }
+
+    private void clearAll() {
+        for (String cacheName : cacheManager.getCacheNames()) {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache != null) {
+                cache.clear();
+            }
+        }
+    }
+
+    private final class PendingNotification implements TransactionSynchronization {
+
+        private final Set<String> entries;
+
+        private PendingNotification(Set<String> entries) {
+            this.entries = entries;
+        }
+
+        @Override
+        public void suspend() {
+            TransactionSynchronizationManager.unbindResource(CacheInvalidationBus.this);
+        }
+
+        @Override
+        public void resume() {
+            TransactionSynchronizationManager.bindResource(CacheInvalidationBus.this, entries);
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            send(entries);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(CacheInvalidationBus.this);
+        }
+    }
+
+    private static void closeQuietly(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            log.debug("Failed to close cache invalidation listener connection", e);
+        }
+    }
+}
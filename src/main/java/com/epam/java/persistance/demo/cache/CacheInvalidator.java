@@ -0,0 +1,45 @@
+package com.epam.java.persistance.demo.cache;
+
+import com.epam.java.persistance.demo.config.CacheConfig;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+@Component
+@RequiredArgsConstructor
+public class CacheInvalidator {
+
+    private final CacheManager cacheManager;
+    private final CacheInvalidationBus invalidationBus;
+    private final RequestCoalescer requestCoalescer;
+
+    public void evictGroup(Long id, String... codes) {
+        evict(CacheConfig.GROUPS_BY_ID, List.of(id));
+
+        List<String> codeKeys = new ArrayList<>(codes.length);
+        for (String code : codes) {
+            if (code != null) {
+                codeKeys.add(code);
+            }
+        }
+        evict(CacheConfig.GROUPS_BY_CODE, codeKeys);
+    }
+
+    public void evictStudent(Long id) {
+        evict(CacheConfig.STUDENTS_BY_ID, List.of(id));
+    }
+
+    private void evict(String cacheName, List<?> keys) {
+        Cache cache = Objects.requireNonNull(cacheManager.getCache(cacheName));
+        keys.forEach(key -> {
+            cache.evict(key);
+            requestCoalescer.forget(cacheName, key);
+        });
+        invalidationBus.publish(cacheName, keys);
+    }
+}
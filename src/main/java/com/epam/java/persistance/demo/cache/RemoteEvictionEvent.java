@@ -0,0 +1,4 @@
+package com.epam.java.persistance.demo.cache;
+
+public record RemoteEvictionEvent(String cacheName, Object key) {
+}
@@ -0,0 +1,8 @@
+package com.epam.java.persistance.demo.cache;
+
+/**
+ * Published after the invalidation listener reconnects: evictions sent while it was
+ * disconnected are lost, so anything derived from remote state must be reloaded.
+ */
+public record RemoteResetEvent() {
+}
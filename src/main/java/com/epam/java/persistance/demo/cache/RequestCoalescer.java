@@ -0,0 +1,133 @@
+package com.epam.java.persistance.demo.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Coalesces concurrent calls of {@link SingleFlight} methods: the first caller for a key
+ * runs the method, callers arriving while it is in flight wait for and share its result
+ * or exception. Entries live only while a load is running, and once
+ * {@code app.single-flight.max-in-flight} keys are in flight further keys simply run
+ * uncoalesced, so memory stays bounded.
+ * <p>
+ * The aspect runs just inside the cache interceptor and ahead of {@code DatabaseBulkhead},
+ * so only cache misses are coalesced and waiting callers hold neither a database permit
+ * nor a connection. Calls made inside a transaction are
+ * not coalesced, as a shared result could miss that transaction's own writes.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class RequestCoalescer {
+
+    private final Map<FlightKey, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, Counter> savedLoads = new ConcurrentHashMap<>();
+    private final int maxInFlight;
+    private final MeterRegistry registry;
+
+    public RequestCoalescer(MeterRegistry registry,
+                            @Value("${app.single-flight.max-in-flight:10000}") int maxInFlight) {
+        this.registry = registry;
+        this.maxInFlight = maxInFlight;
+        Gauge.builder("app.single-flight.in-flight", inFlight, Map::size)
+                .description("Coalesced loads currently running")
+                .register(registry);
+    }
+
+    // Binding the annotation as an advice argument fails for this aspect, so it is
+    // looked up on the target method instead.
+    @Around("@annotation(com.epam.java.persistance.demo.cache.SingleFlight)")
+    public Object coalesce(ProceedingJoinPoint joinPoint) throws Throwable {
+        Method method = AopUtils.getMostSpecificMethod(
+                ((MethodSignature) joinPoint.getSignature()).getMethod(),
+                AopUtils.getTargetClass(joinPoint.getTarget()));
+        return coalesce(joinPoint, AnnotationUtils.findAnnotation(method, SingleFlight.class));
+    }
+
+    public Object coalesce(ProceedingJoinPoint joinPoint, SingleFlight singleFlight) throws Throwable {
+        Object[] args = joinPoint.getArgs();
+        if (args.length == 0 || args[0] == null
+                || TransactionSynchronizationManager.isActualTransactionActive()
+                || inFlight.size() >= maxInFlight) {
+            return joinPoint.proceed();
+        }
+
+        FlightKey key = new FlightKey(singleFlight.value(), args[0]);
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> leader = inFlight.putIfAbsent(key, flight);
+        if (leader != null) {
+            savedLoads(key.name()).increment();
+            return await(leader);
+        }
+
+        try {
+            Object result = joinPoint.proceed();
+            flight.complete(result);
+            return result;
+        } catch (Throwable ex) {
+            flight.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    // Later callers for the key start a fresh load instead of joining one that may have
+    // read the state before the write. Deferred to commit like the cache eviction itself.
+    public void forget(String name, Object key) {
+        FlightKey flightKey = new FlightKey(name, key);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            inFlight.remove(flightKey);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                inFlight.remove(flightKey);
+            }
+        });
+    }
+
+    @EventListener
+    public void onRemoteEviction(RemoteEvictionEvent event) {
+        inFlight.remove(new FlightKey(event.cacheName(), event.key()));
+    }
+
+    private Counter savedLoads(String name) {
+        return savedLoads.computeIfAbsent(name, ignored -> Counter.builder("app.single-flight.saved-loads")
+                .description("Calls served by joining a load already in flight")
+                .tag("name", name)
+                .register(registry));
+    }
+
+    private static Object await(CompletableFuture<Object> leader) throws Throwable {
+        try {
+            return leader.get();
+        } catch (ExecutionException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    private record FlightKey(String name, Object key) {
+    }
+}
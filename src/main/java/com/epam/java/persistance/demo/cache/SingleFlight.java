@@ -0,0 +1,19 @@
+package com.epam.java.persistance.demo.cache;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Lets concurrent calls of the annotated method share one execution per key, see
+ * {@link RequestCoalescer}. The key is the first argument; {@link #value()} names the key
+ * space and should match the cache the method populates, so evictions from that cache
+ * also drop loads still in flight.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface SingleFlight {
+
+    String value();
+}
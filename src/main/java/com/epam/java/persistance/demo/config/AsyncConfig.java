@@ -0,0 +1,11 @@
+package com.epam.java.persistance.demo.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+// @Async methods run on Boot's applicationTaskExecutor, which starts a virtual thread per
+// task while spring.threads.virtual.enabled is set.
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+}
@@ -0,0 +1,31 @@
+package com.epam.java.persistance.demo.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+// Outermost of the service advice, so cache hits return before RequestCoalescer and
+// DatabaseBulkhead are reached and never wait for a database permit.
+@Configuration
+@EnableCaching(order = Ordered.HIGHEST_PRECEDENCE)
+public class CacheConfig {
+
+    public static final String GROUPS_BY_ID = "groupsById";
+    public static final String GROUPS_BY_CODE = "groupsByCode";
+    public static final String STUDENTS_BY_ID = "studentsById";
+
+    // Transaction-aware, so evictions issued inside a write transaction only take effect
+    // after it commits and a concurrent reader cannot re-cache the pre-commit state.
+    @Bean
+    public CacheManager cacheManager(@Value("${spring.cache.caffeine.spec}") String spec) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(GROUPS_BY_ID, GROUPS_BY_CODE, STUDENTS_BY_ID);
+        cacheManager.setCacheSpecification(spec);
+        cacheManager.setAllowNullValues(false);
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
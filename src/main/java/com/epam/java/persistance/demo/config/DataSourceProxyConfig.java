@@ -0,0 +1,50 @@
+package com.epam.java.persistance.demo.config;
+
+import com.epam.java.persistance.demo.metrics.SqlStatementCounter;
+import net.ttddyy.dsproxy.listener.logging.SLF4JLogLevel;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class DataSourceProxyConfig {
+
+    // Static so the post-processor is registered before the DataSource is created.
+    @Bean
+    public static BeanPostProcessor dataSourceProxyPostProcessor() {
+        return new DataSourceProxyPostProcessor();
+    }
+
+    static class DataSourceProxyPostProcessor implements BeanPostProcessor, EnvironmentAware {
+
+        private Duration slowQueryThreshold;
+
+        @Override
+        public void setEnvironment(Environment environment) {
+            slowQueryThreshold = environment.getProperty("app.metrics.slow-query-threshold",
+                    Duration.class, Duration.ofMillis(500));
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof DataSource dataSource) || bean instanceof ProxyDataSource) {
+                return bean;
+            }
+            // The slow query log prints bound parameters, and fires while the statement is still running.
+            return ProxyDataSourceBuilder.create(dataSource)
+                    .name(beanName)
+                    .listener(new SqlStatementCounter())
+                    .logSlowQueryBySlf4j(slowQueryThreshold.toMillis(), TimeUnit.MILLISECONDS,
+                            SLF4JLogLevel.WARN, "sql.slow")
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.epam.java.persistance.demo.config;
+
+import com.epam.java.persistance.demo.routing.ReadWriteRoutingDataSource;
+import com.epam.java.persistance.demo.routing.ReadYourWritesFilter;
+import com.epam.java.persistance.demo.routing.ReadYourWritesTracker;
+import com.epam.java.persistance.demo.routing.ReplicaProperties;
+import com.epam.java.persistance.demo.routing.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Only active when at least one replica is configured (app.datasource.replicas[*].url);
+// otherwise Boot's single pooled DataSource is used unchanged.
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.replicas[0]", name = "url")
+@EnableConfigurationProperties(ReplicaProperties.class)
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    public ReadWriteRoutingDataSource dataSource(DataSourceProperties dataSourceProperties,
+                                                 ReplicaProperties replicaProperties,
+                                                 Environment environment,
+                                                 MeterRegistry meterRegistry) {
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        if (primary.getPoolName() == null) {
+            primary.setPoolName("primary");
+        }
+
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (ReplicaProperties.Replica replica : replicaProperties.replicas()) {
+            HikariDataSource replicaPool = new HikariDataSource();
+            replicaPool.setPoolName("replica-" + replicas.size());
+            replicaPool.setJdbcUrl(replica.url());
+            replicaPool.setUsername(replica.username() != null ? replica.username() : primary.getUsername());
+            replicaPool.setPassword(replica.password() != null ? replica.password() : primary.getPassword());
+            replicaPool.setMaximumPoolSize(primary.getMaximumPoolSize());
+            replicaPool.setConnectionTimeout(replicaProperties.replicaConnectionTimeout().toMillis());
+            // A replica that is down at startup must not keep the application from starting.
+            replicaPool.setInitializationFailTimeout(-1);
+            replicaPool.setMetricRegistry(meterRegistry);
+            replicas.add(replicaPool);
+        }
+
+        return new ReadWriteRoutingDataSource(primary, new ReplicaRoutingDataSource(primary, replicas,
+                replicaProperties.replicaRecheckInterval().toMillis(),
+                replicaProperties.readYourWritesWindow().toMillis()));
+    }
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(ReplicaProperties replicaProperties) {
+        return new ReadYourWritesTracker(replicaProperties.readYourWritesWindow());
+    }
+
+    @Bean
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter() {
+        FilterRegistrationBean<ReadYourWritesFilter> registration = new FilterRegistrationBean<>(new ReadYourWritesFilter());
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
@@ -0,0 +1,22 @@
+package com.epam.java.persistance.demo.controller;
+
+import com.epam.java.persistance.demo.domain.DashboardDto;
+import com.epam.java.persistance.demo.service.DashboardService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/dashboard")
+@RequiredArgsConstructor
+public class DashboardController {
+
+    private final DashboardService dashboardService;
+
+    @GetMapping
+    public ResponseEntity<DashboardDto> getDashboard() {
+        return ResponseEntity.ok(dashboardService.getDashboard());
+    }
+}
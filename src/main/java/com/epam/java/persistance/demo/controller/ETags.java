@@ -0,0 +1,35 @@
+package com.epam.java.persistance.demo.controller;
+
+import org.springframework.http.ETag;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+// Entity ETags are the quoted row version, which changes with every update of the entity
+// and, for groups, of the roster.
+final class ETags {
+
+    private ETags() {
+    }
+
+    static boolean matches(String ifNoneMatch, long version) {
+        String current = Long.toString(version);
+        for (ETag tag : ETag.parse(ifNoneMatch)) {
+            if (tag.isWildcard() || tag.tag().equals(current)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static <T> ResponseEntity<T> notModified(long version) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(Long.toString(version)).build();
+    }
+
+    static <T> ResponseEntity<T> ok(T body, Long version) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (version != null) {
+            response.eTag(Long.toString(version));
+        }
+        return response.body(body);
+    }
+}
@@ -1,12 +1,22 @@
 package com.epam.java.persistance.demo.controller;
 
+import com.epam.java.persistance.demo.domain.BatchLookup;
+import com.epam.java.persistance.demo.domain.EnrollmentOutcome;
 import com.epam.java.persistance.demo.domain.GroupDto;
+import com.epam.java.persistance.demo.domain.GroupListItem;
+import com.epam.java.persistance.demo.domain.GroupSearchPage;
+import com.epam.java.persistance.demo.domain.GroupSuggestion;
+import com.epam.java.persistance.demo.domain.RosterPage;
 import com.epam.java.persistance.demo.service.GroupService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.List;
 
 @RestController
@@ -15,20 +25,59 @@ import java.util.List;
 public class GroupController {
 
     private final GroupService groupService;
+    private final ObjectMapper objectMapper;
 
+    // List endpoints take view=summary to return GroupSummaryDto rows; see GroupView.
     @GetMapping
-    public ResponseEntity<List<GroupDto>> getAllGroups() {
-        return ResponseEntity.ok(groupService.getAllGroups());
+    public ResponseEntity<List<? extends GroupListItem>> getAllGroups(
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(defaultValue = "full") GroupView view) {
+        return ResponseEntity.ok(view == GroupView.SUMMARY
+                ? groupService.getGroupSummaries(after, limit)
+                : groupService.getAllGroups(after, limit));
     }
 
+    @GetMapping("/export")
+    public void exportGroups(HttpServletResponse response) throws IOException {
+        response.setContentType(NdjsonWriter.MEDIA_TYPE);
+        try (NdjsonWriter writer = new NdjsonWriter(objectMapper, response.getOutputStream())) {
+            groupService.exportGroups(writer::write);
+        }
+    }
+
+    // A matching If-None-Match is answered from a version-only lookup, before the group is loaded.
     @GetMapping("/{id}")
-    public ResponseEntity<GroupDto> getGroupById(@PathVariable Long id) {
-        return ResponseEntity.ok(groupService.getGroupById(id));
+    public ResponseEntity<GroupDto> getGroupById(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (ifNoneMatch != null) {
+            long version = groupService.getGroupVersion(id);
+            if (ETags.matches(ifNoneMatch, version)) {
+                return ETags.notModified(version);
+            }
+        }
+        GroupDto group = groupService.getGroupById(id);
+        return ETags.ok(group, group.version());
     }
 
     @GetMapping("/code/{code}")
-    public ResponseEntity<GroupDto> getGroupByCode(@PathVariable String code) {
-        return ResponseEntity.ok(groupService.getGroupByCode(code));
+    public ResponseEntity<GroupDto> getGroupByCode(
+            @PathVariable String code,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (ifNoneMatch != null) {
+            long version = groupService.getGroupVersionByCode(code);
+            if (ETags.matches(ifNoneMatch, version)) {
+                return ETags.notModified(version);
+            }
+        }
+        GroupDto group = groupService.getGroupByCode(code);
+        return ETags.ok(group, group.version());
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<BatchLookup<GroupDto>> getGroupsByIds(@RequestBody List<Long> ids) {
+        return ResponseEntity.ok(groupService.getGroupsByIds(ids));
     }
 
     @PostMapping
@@ -50,6 +99,15 @@ public class GroupController {
         return ResponseEntity.noContent().build();
     }
 
+    @GetMapping("/{groupId}/students")
+    public ResponseEntity<RosterPage> getGroupRoster(
+            @PathVariable Long groupId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(defaultValue = "id") String sort) {
+        return ResponseEntity.ok(groupService.getGroupRoster(groupId, cursor, limit, sort));
+    }
+
     @PostMapping("/{groupId}/students/{studentId}")
     public ResponseEntity<GroupDto> addStudentToGroup(
             @PathVariable Long groupId,
@@ -57,6 +115,13 @@ public class GroupController {
         return ResponseEntity.ok(groupService.addStudentToGroup(groupId, studentId));
     }
 
+    @PostMapping("/{groupId}/students:batch")
+    public ResponseEntity<List<EnrollmentOutcome>> addStudentsToGroup(
+            @PathVariable Long groupId,
+            @RequestBody List<Long> studentIds) {
+        return ResponseEntity.ok(groupService.addStudentsToGroup(groupId, studentIds));
+    }
+
     @DeleteMapping("/{groupId}/students/{studentId}")
     public ResponseEntity<GroupDto> removeStudentFromGroup(
             @PathVariable Long groupId,
@@ -65,27 +130,54 @@ public class GroupController {
     }
 
     @GetMapping("/active")
-    public ResponseEntity<List<GroupDto>> getActiveGroups() {
-        return ResponseEntity.ok(groupService.getActiveGroups());
+    public ResponseEntity<List<? extends GroupListItem>> getActiveGroups(
+            @RequestParam(defaultValue = "full") GroupView view) {
+        return ResponseEntity.ok(view == GroupView.SUMMARY
+                ? groupService.getActiveGroupSummaries()
+                : groupService.getActiveGroups());
     }
 
     @GetMapping("/available")
-    public ResponseEntity<List<GroupDto>> getGroupsWithAvailableSpots() {
-        return ResponseEntity.ok(groupService.getGroupsWithAvailableSpots());
+    public ResponseEntity<List<? extends GroupListItem>> getGroupsWithAvailableSpots(
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(defaultValue = "full") GroupView view) {
+        return ResponseEntity.ok(view == GroupView.SUMMARY
+                ? groupService.getGroupSummariesWithAvailableSpots(after, limit)
+                : groupService.getGroupsWithAvailableSpots(after, limit));
     }
 
     @GetMapping("/search")
-    public ResponseEntity<List<GroupDto>> searchGroups(@RequestParam String keyword) {
-        return ResponseEntity.ok(groupService.searchGroups(keyword));
+    public ResponseEntity<GroupSearchPage> searchGroups(
+            @RequestParam String keyword,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(groupService.searchGroups(keyword, cursor, limit));
+    }
+
+    @GetMapping("/autocomplete")
+    public ResponseEntity<List<GroupSuggestion>> autocompleteGroups(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(groupService.autocompleteGroups(prefix, limit));
     }
 
     @GetMapping("/student/{email}")
-    public ResponseEntity<List<GroupDto>> getGroupsByStudentEmail(@PathVariable String email) {
-        return ResponseEntity.ok(groupService.getGroupsByStudentEmail(email));
+    public ResponseEntity<List<? extends GroupListItem>> getGroupsByStudentEmail(
+            @PathVariable String email,
+            @RequestParam(defaultValue = "full") GroupView view) {
+        return ResponseEntity.ok(view == GroupView.SUMMARY
+                ? groupService.getGroupSummariesByStudentEmail(email)
+                : groupService.getGroupsByStudentEmail(email));
     }
 
     @GetMapping("/ordered-by-count")
-    public ResponseEntity<List<GroupDto>> getGroupsOrderedByStudentCount() {
-        return ResponseEntity.ok(groupService.getGroupsOrderedByStudentCount());
+    public ResponseEntity<List<? extends GroupListItem>> getGroupsOrderedByStudentCount(
+            @RequestParam(defaultValue = "0") int offset,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(defaultValue = "full") GroupView view) {
+        return ResponseEntity.ok(view == GroupView.SUMMARY
+                ? groupService.getGroupEnrollmentCounts(offset, limit)
+                : groupService.getGroupsOrderedByStudentCount(offset, limit));
     }
 }
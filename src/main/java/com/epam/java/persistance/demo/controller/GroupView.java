@@ -0,0 +1,8 @@
+package com.epam.java.persistance.demo.controller;
+
+// Bound from the view request parameter; SUMMARY returns GroupSummaryDto rows read from
+// groups alone, skipping the roster aggregation over group_students.
+public enum GroupView {
+    FULL,
+    SUMMARY
+}
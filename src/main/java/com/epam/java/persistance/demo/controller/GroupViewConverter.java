@@ -0,0 +1,17 @@
+package com.epam.java.persistance.demo.controller;
+
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+
+// Request parameters use the lower-case names (view=summary). An unknown name fails the
+// conversion, which reaches the exception handler as a 400.
+@Component
+public class GroupViewConverter implements Converter<String, GroupView> {
+
+    @Override
+    public GroupView convert(String source) {
+        return GroupView.valueOf(source.strip().toUpperCase(Locale.ROOT));
+    }
+}
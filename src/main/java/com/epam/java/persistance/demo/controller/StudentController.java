@@ -1,11 +1,21 @@
 package com.epam.java.persistance.demo.controller;
 
 
+import com.epam.java.persistance.demo.domain.BatchLookup;
 import com.epam.java.persistance.demo.domain.StudentDto;
+import com.epam.java.persistance.demo.domain.StudentImportResult;
+import com.epam.java.persistance.demo.domain.StudentPatch;
+import com.epam.java.persistance.demo.service.StudentImportService;
 import com.epam.java.persistance.demo.service.StudentService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
@@ -14,6 +24,8 @@ import java.util.List;
 public class StudentController {
 
     private final StudentService service;
+    private final StudentImportService importService;
+    private final ObjectMapper objectMapper;
 
 
     @GetMapping
@@ -21,14 +33,41 @@ public class StudentController {
         return service.getAllStudents();
     }
 
+    @PostMapping("/batch")
+    public BatchLookup<StudentDto> getStudentsByIds(@RequestBody List<Long> ids) {
+        return service.getStudentsByIds(ids);
+    }
+
+    @GetMapping("/export")
+    public void exportStudents(HttpServletResponse response) throws IOException {
+        response.setContentType(NdjsonWriter.MEDIA_TYPE);
+        try (NdjsonWriter writer = new NdjsonWriter(objectMapper, response.getOutputStream())) {
+            service.exportStudents(writer::write);
+        }
+    }
+
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public StudentImportResult importStudents(InputStream csv) {
+        return importService.importStudents(csv);
+    }
+
     @PostMapping
     public StudentDto createStudent(@RequestBody StudentDto studentDto) {
         return service.createStudent(studentDto);
     }
 
     @GetMapping("/{id}")
-    public StudentDto getStudentById(@PathVariable Long id) {
-        return service.getStudentById(id);
+    public ResponseEntity<StudentDto> getStudentById(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (ifNoneMatch != null) {
+            long version = service.getStudentVersion(id);
+            if (ETags.matches(ifNoneMatch, version)) {
+                return ETags.notModified(version);
+            }
+        }
+        StudentDto student = service.getStudentById(id);
+        return ETags.ok(student, student.version());
     }
 
     @PutMapping("/{id}")
@@ -36,6 +75,11 @@ public class StudentController {
         return service.updateStudent(id, studentDto);
     }
 
+    @PatchMapping("/{id}")
+    public StudentDto patchStudent(@PathVariable Long id, @RequestBody StudentPatch patch) {
+        return service.patchStudent(id, patch);
+    }
+
     @DeleteMapping("/{id}")
     public void deleteStudent(@PathVariable Long id) {
         service.deleteStudent(id);
@@ -0,0 +1,25 @@
+package com.epam.java.persistance.demo.domain;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public record BatchLookup<T>(Map<Long, T> found, List<Long> missing) {
+
+    // Entries follow the order of the requested ids; ids without a loaded value are reported as missing.
+    public static <T> BatchLookup<T> of(Collection<Long> requestedIds, Map<Long, T> loaded) {
+        Map<Long, T> found = new LinkedHashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long id : requestedIds) {
+            T value = loaded.get(id);
+            if (value != null) {
+                found.put(id, value);
+            } else {
+                missing.add(id);
+            }
+        }
+        return new BatchLookup<>(found, missing);
+    }
+}
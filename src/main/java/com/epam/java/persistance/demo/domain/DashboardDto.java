@@ -0,0 +1,16 @@
+package com.epam.java.persistance.demo.domain;
+
+import java.util.List;
+
+// Parts that failed or timed out are null and listed in unavailable.
+public record DashboardDto(
+        Long totalGroups,
+        Long totalStudents,
+        Long totalEnrollments,
+        Long activeGroups,
+        Long groupsNearCapacity,
+        Long fullGroups,
+        List<EnrollmentBucket> enrollmentDistribution,
+        Double averageAge,
+        List<String> unavailable
+) {}
@@ -0,0 +1,3 @@
+package com.epam.java.persistance.demo.domain;
+
+public record EnrollmentBucket(int fromPercent, int toPercent, long groups) {}
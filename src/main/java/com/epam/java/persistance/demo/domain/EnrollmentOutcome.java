@@ -0,0 +1,12 @@
+package com.epam.java.persistance.demo.domain;
+
+public record EnrollmentOutcome(Long studentId, Status status) {
+
+    public enum Status {
+        ENROLLED,
+        ALREADY_ENROLLED,
+        DUPLICATE_IN_REQUEST,
+        NOT_FOUND,
+        OVER_CAPACITY
+    }
+}
@@ -1,8 +1,10 @@
 package com.epam.java.persistance.demo.domain;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import java.time.LocalDate;
-import java.util.Set;
 
+// version backs the ETag and is not part of the JSON body; list projections leave it null.
 public record GroupDto(
         Long id,
         String name,
@@ -11,6 +13,18 @@ public record GroupDto(
         LocalDate endDate,
         Integer maxCapacity,
         String description,
-        Set<Long> studentIds,
-        Integer currentEnrollment
-) {}
+        StudentIds studentIds,
+        Integer currentEnrollment,
+        @JsonIgnore Long version
+) implements GroupListItem {
+
+    public GroupDto(Long id, String name, String code, LocalDate startDate, LocalDate endDate,
+                    Integer maxCapacity, String description, StudentIds studentIds, Integer currentEnrollment) {
+        this(id, name, code, startDate, endDate, maxCapacity, description, studentIds, currentEnrollment, null);
+    }
+
+    public GroupDto withVersion(Long version) {
+        return new GroupDto(id, name, code, startDate, endDate, maxCapacity, description, studentIds,
+                currentEnrollment, version);
+    }
+}
@@ -0,0 +1,4 @@
+package com.epam.java.persistance.demo.domain;
+
+public record GroupKey(Long id, String code) {
+}
@@ -0,0 +1,21 @@
+package com.epam.java.persistance.demo.domain;
+
+import java.time.LocalDate;
+
+// Common columns of the full and summary group rows returned by the list endpoints.
+public sealed interface GroupListItem permits GroupDto, GroupSummaryDto {
+
+    Long id();
+
+    String name();
+
+    String code();
+
+    LocalDate startDate();
+
+    LocalDate endDate();
+
+    Integer maxCapacity();
+
+    Integer currentEnrollment();
+}
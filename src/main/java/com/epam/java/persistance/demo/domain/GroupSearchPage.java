@@ -0,0 +1,6 @@
+package com.epam.java.persistance.demo.domain;
+
+import java.util.List;
+
+public record GroupSearchPage(List<GroupSummaryDto> groups, String nextCursor) {
+}
@@ -0,0 +1,4 @@
+package com.epam.java.persistance.demo.domain;
+
+public record GroupSuggestion(Long id, String code, String name) {
+}
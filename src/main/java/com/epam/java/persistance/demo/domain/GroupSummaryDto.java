@@ -0,0 +1,13 @@
+package com.epam.java.persistance.demo.domain;
+
+import java.time.LocalDate;
+
+public record GroupSummaryDto(
+        Long id,
+        String name,
+        String code,
+        LocalDate startDate,
+        LocalDate endDate,
+        Integer maxCapacity,
+        Integer currentEnrollment
+) implements GroupListItem {}
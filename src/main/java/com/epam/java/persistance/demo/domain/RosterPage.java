@@ -0,0 +1,7 @@
+package com.epam.java.persistance.demo.domain;
+
+import java.util.List;
+
+// nextCursor continues after the last student on the page, or is null once the roster is exhausted.
+public record RosterPage(List<StudentDto> students, String nextCursor) {
+}
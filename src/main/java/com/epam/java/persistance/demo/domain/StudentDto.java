@@ -1,4 +1,19 @@
 package com.epam.java.persistance.demo.domain;
 
-public record StudentDto(String firstName, String lastName, String email, int age) {
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonSetter;
+import com.fasterxml.jackson.annotation.Nulls;
+
+// version backs the ETag and is not part of the JSON body. A request body must carry every
+// other field: PUT replaces the whole student, and a missing age would otherwise read as 0.
+public record StudentDto(@JsonProperty(required = true) @JsonSetter(nulls = Nulls.FAIL) String firstName,
+                         @JsonProperty(required = true) @JsonSetter(nulls = Nulls.FAIL) String lastName,
+                         @JsonProperty(required = true) @JsonSetter(nulls = Nulls.FAIL) String email,
+                         @JsonProperty(required = true) @JsonSetter(nulls = Nulls.FAIL) int age,
+                         @JsonIgnore Long version) {
+
+    public StudentDto(String firstName, String lastName, String email, int age) {
+        this(firstName, lastName, email, age, null);
+    }
 }
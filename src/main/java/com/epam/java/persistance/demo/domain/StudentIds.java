@@ -0,0 +1,146 @@
+package com.epam.java.persistance.demo.domain;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.stream.LongStream;
+
+/**
+ * Immutable, sorted and duplicate-free set of student ids backed by a primitive
+ * {@code long[]}. It costs eight bytes per id instead of a boxed {@code Long} plus a hash
+ * node, and is written to JSON as a plain number array straight from the backing array.
+ */
+@JsonSerialize(using = StudentIds.Serializer.class)
+@JsonDeserialize(using = StudentIds.Deserializer.class)
+public final class StudentIds {
+
+    private static final StudentIds EMPTY = new StudentIds(new long[0]);
+
+    private final long[] ids;
+
+    private StudentIds(long[] ids) {
+        this.ids = ids;
+    }
+
+    public static StudentIds empty() {
+        return EMPTY;
+    }
+
+    public static StudentIds of(long... ids) {
+        return sortedDistinct(ids.clone(), ids.length);
+    }
+
+    public static Builder builder(int expectedSize) {
+        return new Builder(expectedSize);
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    public boolean isEmpty() {
+        return ids.length == 0;
+    }
+
+    public boolean contains(long id) {
+        return Arrays.binarySearch(ids, id) >= 0;
+    }
+
+    public LongStream stream() {
+        return Arrays.stream(ids);
+    }
+
+    public long[] toArray() {
+        return ids.clone();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || o instanceof StudentIds other && Arrays.equals(ids, other.ids);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(ids);
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(ids);
+    }
+
+    private static StudentIds sortedDistinct(long[] ids, int length) {
+        if (length == 0) {
+            return EMPTY;
+        }
+        Arrays.sort(ids, 0, length);
+        int distinct = 1;
+        for (int i = 1; i < length; i++) {
+            if (ids[i] != ids[distinct - 1]) {
+                ids[distinct++] = ids[i];
+            }
+        }
+        return new StudentIds(distinct == ids.length ? ids : Arrays.copyOf(ids, distinct));
+    }
+
+    public static final class Builder {
+
+        private long[] ids;
+        private int size;
+
+        private Builder(int expectedSize) {
+            this.ids = new long[Math.max(expectedSize, 0)];
+        }
+
+        public Builder add(long id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, Math.max(size * 2, 8));
+            }
+            ids[size++] = id;
+            return this;
+        }
+
+        public StudentIds build() {
+            StudentIds result = sortedDistinct(ids, size);
+            ids = new long[0];
+            size = 0;
+            return result;
+        }
+    }
+
+    static final class Serializer extends JsonSerializer<StudentIds> {
+
+        @Override
+        public void serialize(StudentIds value, JsonGenerator generator, SerializerProvider serializers) throws IOException {
+            generator.writeArray(value.ids, 0, value.ids.length);
+        }
+    }
+
+    static final class Deserializer extends JsonDeserializer<StudentIds> {
+
+        @Override
+        public StudentIds deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            if (!parser.isExpectedStartArrayToken()) {
+                return (StudentIds) context.handleUnexpectedToken(StudentIds.class, parser);
+            }
+            Builder builder = new Builder(16);
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                if (token != JsonToken.VALUE_NUMBER_INT) {
+                    return (StudentIds) context.handleUnexpectedToken(StudentIds.class, parser);
+                }
+                builder.add(parser.getLongValue());
+            }
+            return builder.build();
+        }
+    }
+}
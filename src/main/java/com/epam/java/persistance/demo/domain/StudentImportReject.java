@@ -0,0 +1,10 @@
+package com.epam.java.persistance.demo.domain;
+
+public record StudentImportReject(long recordNumber, String email, Reason reason) {
+
+    public enum Reason {
+        INVALID,
+        DUPLICATE_IN_FILE,
+        DUPLICATE_EMAIL
+    }
+}
@@ -0,0 +1,6 @@
+package com.epam.java.persistance.demo.domain;
+
+import java.util.List;
+
+public record StudentImportResult(long received, long imported, List<StudentImportReject> rejects) {
+}
@@ -0,0 +1,9 @@
+package com.epam.java.persistance.demo.domain;
+
+// Fields left null are not changed.
+public record StudentPatch(String firstName, String lastName, String email, Integer age) {
+
+    public boolean isEmpty() {
+        return firstName == null && lastName == null && email == null && age == null;
+    }
+}
@@ -2,6 +2,8 @@ package com.epam.java.persistance.demo.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
 
 import java.time.LocalDate;
 import java.util.HashSet;
@@ -37,7 +39,18 @@ public class Group {
     @Column(length = 500)
     private String description;
 
+    // Maintained by triggers on group_students, never written by the application.
+    @Column(insertable = false, updatable = false)
+    private int enrolledCount;
+
+    // Also bumped by the group_students triggers whenever the roster changes.
+    @Version
+    private Long version;
+
+    // The database cascades roster rows on delete; removing them first would bump the version
+    // through the triggers and fail the delete's version check.
     @ManyToMany(fetch = FetchType.LAZY)
+    @OnDelete(action = OnDeleteAction.CASCADE)
     @JoinTable(
             name = "group_students",
             joinColumns = @JoinColumn(name = "group_id"),
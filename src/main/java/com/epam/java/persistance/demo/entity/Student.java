@@ -31,9 +31,16 @@ public class Student {
     @Column(nullable = false)
     private int age;
 
+    @Version
+    private Long version;
+
     @ManyToMany(mappedBy = "students", fetch = FetchType.LAZY)
     @JsonIgnore
     @ToString.Exclude
     @EqualsAndHashCode.Exclude
     private Set<Group> groups = new HashSet<>();
+
+    public Student(Long id, String firstName, String lastName, String email, int age) {
+        this(id, firstName, lastName, email, age, null, new HashSet<>());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,8 @@
+package com.epam.java.persistance.demo.exception;
+
+public class BulkheadFullException extends RuntimeException {
+
+    public BulkheadFullException(String message) {
+        super(message);
+    }
+}
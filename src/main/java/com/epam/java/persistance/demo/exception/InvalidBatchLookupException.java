@@ -0,0 +1,9 @@
+package com.epam.java.persistance.demo.exception;
+
+// A batch lookup request with too many ids or a null id.
+public class InvalidBatchLookupException extends RuntimeException {
+
+    public InvalidBatchLookupException(String message) {
+        super(message);
+    }
+}
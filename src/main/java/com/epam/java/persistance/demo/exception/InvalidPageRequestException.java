@@ -0,0 +1,9 @@
+package com.epam.java.persistance.demo.exception;
+
+// A limit, offset, sort or cursor the caller sent that cannot address a page.
+public class InvalidPageRequestException extends RuntimeException {
+
+    public InvalidPageRequestException(String message) {
+        super(message);
+    }
+}
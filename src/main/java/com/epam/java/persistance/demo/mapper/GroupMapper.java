@@ -1,6 +1,7 @@
 package com.epam.java.persistance.demo.mapper;
 
 import com.epam.java.persistance.demo.domain.GroupDto;
+import com.epam.java.persistance.demo.domain.StudentIds;
 import com.epam.java.persistance.demo.entity.Group;
 import com.epam.java.persistance.demo.entity.Student;
 import org.mapstruct.Mapper;
@@ -8,7 +9,6 @@ import org.mapstruct.Mapping;
 import org.mapstruct.Named;
 
 import java.util.Set;
-import java.util.stream.Collectors;
 
 @Mapper(componentModel = "spring")
 public interface GroupMapper {
@@ -17,16 +17,24 @@ public interface GroupMapper {
     @Mapping(target = "currentEnrollment", expression = "java(group.getStudents().size())")
     GroupDto toGroupDto(Group group);
 
+    @Mapping(target = "studentIds", source = "studentIds")
+    @Mapping(target = "currentEnrollment", expression = "java(studentIds.size())")
+    GroupDto toGroupDto(Group group, StudentIds studentIds);
+
     @Mapping(target = "students", ignore = true)
+    @Mapping(target = "enrolledCount", ignore = true)
+    @Mapping(target = "version", ignore = true)
     Group toGroupEntity(GroupDto dto);
 
     @Named("studentsToIds")
-    default Set<Long> studentsToIds(Set<Student> students) {
+    default StudentIds studentsToIds(Set<Student> students) {
         if (students == null) {
-            return Set.of();
+            return StudentIds.empty();
+        }
+        StudentIds.Builder ids = StudentIds.builder(students.size());
+        for (Student student : students) {
+            ids.add(student.getId());
         }
-        return students.stream()
-                .map(Student::getId)
-                .collect(Collectors.toSet());
+        return ids.build();
     }
 }
@@ -3,11 +3,13 @@ package com.epam.java.persistance.demo.mapper;
 import com.epam.java.persistance.demo.domain.StudentDto;
 import com.epam.java.persistance.demo.entity.Student;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 
 @Mapper(componentModel = "spring")
 public interface StudentMapper {
 
     StudentDto toStudentDto(Student student);
 
+    @Mapping(target = "version", ignore = true)
     Student toStudentEntity(StudentDto studentDto);
 }
@@ -0,0 +1,94 @@
+package com.epam.java.persistance.demo.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records a latency histogram ({@code app.method.duration}) and the number of SQL
+ * statements executed ({@code app.method.sql.statements}) for every service and
+ * repository call, tagged with the layer, class and method name. Statement counts
+ * come from {@link SqlStatementCounter} and include those of nested calls.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class MethodMetricsAspect {
+
+    private final MeterRegistry registry;
+    private final Map<Class<?>, String> classNames = new ConcurrentHashMap<>();
+    private final Map<MethodKey, MethodMeters> meters = new ConcurrentHashMap<>();
+
+    @Around("execution(public * com.epam.java.persistance.demo.service..*(..))")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return record("service", joinPoint.getTarget().getClass().getSimpleName(), joinPoint);
+    }
+
+    @Around("this(org.springframework.data.repository.Repository)")
+    public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return record("repository", classNames.computeIfAbsent(joinPoint.getThis().getClass(), this::repositoryName), joinPoint);
+    }
+
+    private Object record(String layer, String className, ProceedingJoinPoint joinPoint) throws Throwable {
+        MethodMeters methodMeters = meters.computeIfAbsent(
+                new MethodKey(layer, className, joinPoint.getSignature().getName()), this::createMeters);
+        long statementsBefore = SqlStatementCounter.current();
+        Timer.Sample sample = Timer.start(registry);
+        String exception = "none";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable ex) {
+            exception = ex.getClass().getSimpleName();
+            throw ex;
+        } finally {
+            sample.stop(duration(methodMeters, exception));
+            methodMeters.statements().record(SqlStatementCounter.current() - statementsBefore);
+        }
+    }
+
+    private MethodMeters createMeters(MethodKey key) {
+        DistributionSummary statements = DistributionSummary.builder("app.method.sql.statements")
+                .tags("layer", key.layer(), "class", key.className(), "method", key.method())
+                .publishPercentileHistogram()
+                .register(registry);
+        return new MethodMeters(key, statements, new ConcurrentHashMap<>());
+    }
+
+    private Timer duration(MethodMeters methodMeters, String exception) {
+        Timer timer = methodMeters.durations().get(exception);
+        if (timer == null) {
+            MethodKey key = methodMeters.key();
+            timer = methodMeters.durations().computeIfAbsent(exception, ignored -> Timer.builder("app.method.duration")
+                    .tags("layer", key.layer(), "class", key.className(), "method", key.method(), "exception", exception)
+                    .publishPercentileHistogram()
+                    .register(registry));
+        }
+        return timer;
+    }
+
+    // Repository beans are JDK proxies; name them after the application interface they implement.
+    private String repositoryName(Class<?> proxyClass) {
+        for (Class<?> candidate : proxyClass.getInterfaces()) {
+            if (Repository.class.isAssignableFrom(candidate)) {
+                return candidate.getSimpleName();
+            }
+        }
+        return proxyClass.getSimpleName();
+    }
+
+    private record MethodKey(String layer, String className, String method) {
+    }
+
+    // Meters are looked up once per method (and exception type) instead of on every call.
+    private record MethodMeters(MethodKey key, DistributionSummary statements, Map<String, Timer> durations) {
+    }
+}
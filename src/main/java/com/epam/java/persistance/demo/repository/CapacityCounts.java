@@ -0,0 +1,8 @@
+package com.epam.java.persistance.demo.repository;
+
+public interface CapacityCounts {
+
+    Long getNearCapacity();
+
+    Long getFull();
+}
@@ -0,0 +1,10 @@
+package com.epam.java.persistance.demo.repository;
+
+public interface DashboardTotals {
+
+    Long getGroups();
+
+    Long getStudents();
+
+    Long getEnrollments();
+}
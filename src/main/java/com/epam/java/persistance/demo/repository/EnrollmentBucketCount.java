@@ -0,0 +1,8 @@
+package com.epam.java.persistance.demo.repository;
+
+public interface EnrollmentBucketCount {
+
+    Integer getBucket();
+
+    Long getGroups();
+}
@@ -0,0 +1,37 @@
+package com.epam.java.persistance.demo.repository;
+
+import com.epam.java.persistance.demo.domain.GroupDto;
+import com.epam.java.persistance.demo.domain.GroupSummaryDto;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+public interface GroupProjectionRepository {
+
+    List<GroupDto> findGroupDtosAfter(long after, int limit);
+
+    List<GroupDto> findGroupDtosByIds(Collection<Long> ids);
+
+    List<GroupSummaryDto> findGroupSummariesAfter(long after, int limit);
+
+    List<GroupDto> findActiveGroupDtos(LocalDate currentDate);
+
+    List<GroupSummaryDto> findActiveGroupSummaries(LocalDate currentDate);
+
+    List<GroupDto> findGroupDtosWithAvailableSpots(long after, int limit);
+
+    List<GroupSummaryDto> findGroupSummariesWithAvailableSpots(long after, int limit);
+
+    List<GroupDto> findGroupDtosByStudentEmail(String email);
+
+    List<GroupSummaryDto> findGroupSummariesByStudentEmail(String email);
+
+    List<GroupDto> findGroupDtosOrderedByEnrollment(int offset, int limit);
+
+    List<GroupSummaryDto> findGroupSummariesOrderedByEnrollment(int offset, int limit);
+
+    List<RosterEntry> findRosterById(long groupId, long afterId, int limit);
+
+    List<RosterEntry> findRosterByName(long groupId, String afterLastName, String afterFirstName, long afterId, int limit);
+}
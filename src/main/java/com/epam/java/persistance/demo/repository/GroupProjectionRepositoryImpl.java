@@ -0,0 +1,246 @@
+package com.epam.java.persistance.demo.repository;
+
+import com.epam.java.persistance.demo.domain.GroupDto;
+import com.epam.java.persistance.demo.domain.GroupSummaryDto;
+import com.epam.java.persistance.demo.domain.StudentDto;
+import com.epam.java.persistance.demo.domain.StudentIds;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.sql.Array;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Builds {@link GroupDto}s in a single statement: the roster of each group is aggregated
+ * by a lateral {@code array_agg} over {@code group_students} and the enrollment comes from
+ * the maintained {@code enrolled_count}, so no {@code Group} or {@code Student} entity is
+ * ever loaded into the persistence context. The {@link GroupSummaryDto} variants share the
+ * same filters but read {@code groups} alone. Roster pages join {@code group_students} to
+ * {@code students} directly, so the {@code Group.students} collection is never initialized.
+ */
+@RequiredArgsConstructor
+public class GroupProjectionRepositoryImpl implements GroupProjectionRepository {
+
+    private static final String SELECT_GROUP_DTO = """
+            SELECT g.id, g.name, g.code, g.start_date, g.end_date, g.max_capacity, g.description,
+                   COALESCE(roster.student_ids, '{}') AS student_ids, g.enrolled_count AS current_enrollment
+            FROM groups g
+            LEFT JOIN LATERAL (
+                SELECT array_agg(gs.student_id ORDER BY gs.student_id) AS student_ids
+                FROM group_students gs
+                WHERE gs.group_id = g.id
+            ) roster ON true
+            """;
+
+    private static final String SELECT_GROUP_SUMMARY =
+            "SELECT g.id, g.name, g.code, g.start_date, g.end_date, g.max_capacity, g.enrolled_count FROM groups g ";
+
+    private static final String AFTER_ID = "WHERE g.id > :after ORDER BY g.id LIMIT :limit";
+
+    private static final String ACTIVE_ON = "WHERE :currentDate BETWEEN g.start_date AND g.end_date ORDER BY g.id";
+
+    // Served in id order by the partial index idx_groups_available.
+    private static final String AVAILABLE_AFTER_ID =
+            "WHERE g.enrolled_count < g.max_capacity AND g.id > :after ORDER BY g.id LIMIT :limit";
+
+    private static final String ENROLLED_STUDENT_EMAIL = """
+            WHERE EXISTS (
+                SELECT 1 FROM group_students member
+                JOIN students s ON s.id = member.student_id
+                WHERE member.group_id = g.id AND s.email = :email
+            )
+            ORDER BY g.id
+            """;
+
+    private static final RowMapper<GroupDto> GROUP_DTO_MAPPER = (resultSet, rowNum) -> new GroupDto(
+            resultSet.getLong("id"),
+            resultSet.getString("name"),
+            resultSet.getString("code"),
+            resultSet.getObject("start_date", LocalDate.class),
+            resultSet.getObject("end_date", LocalDate.class),
+            resultSet.getInt("max_capacity"),
+            resultSet.getString("description"),
+            toStudentIds(resultSet.getArray("student_ids")),
+            resultSet.getInt("current_enrollment")
+    );
+
+    private static final RowMapper<GroupSummaryDto> GROUP_SUMMARY_MAPPER = (resultSet, rowNum) -> new GroupSummaryDto(
+            resultSet.getLong("id"),
+            resultSet.getString("name"),
+            resultSet.getString("code"),
+            resultSet.getObject("start_date", LocalDate.class),
+            resultSet.getObject("end_date", LocalDate.class),
+            resultSet.getInt("max_capacity"),
+            resultSet.getInt("enrolled_count")
+    );
+
+    private static final String SELECT_ROSTER = """
+            SELECT s.id, s.first_name, s.last_name, s.email, s.age, s.version
+            FROM group_students gs
+            JOIN students s ON s.id = gs.student_id
+            WHERE gs.group_id = :groupId
+            """;
+
+    private static final RowMapper<RosterEntry> ROSTER_ENTRY_MAPPER = (resultSet, rowNum) -> new RosterEntry(
+            resultSet.getLong("id"),
+            new StudentDto(
+                    resultSet.getString("first_name"),
+                    resultSet.getString("last_name"),
+                    resultSet.getString("email"),
+                    resultSet.getInt("age"),
+                    resultSet.getLong("version")
+            )
+    );
+
+    private static final String ORDER_BY_ENROLLMENT = "ORDER BY g.enrolled_count DESC, g.id LIMIT :limit OFFSET :offset";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<GroupDto> findGroupDtosAfter(long after, int limit) {
+        return jdbcTemplate.query(
+                SELECT_GROUP_DTO + AFTER_ID,
+                new MapSqlParameterSource("after", after).addValue("limit", limit),
+                GROUP_DTO_MAPPER);
+    }
+
+    @Override
+    public List<GroupDto> findGroupDtosByIds(Collection<Long> ids) {
+        return jdbcTemplate.query(
+                SELECT_GROUP_DTO + "WHERE g.id IN (:ids)",
+                new MapSqlParameterSource("ids", padInList(ids)),
+                GROUP_DTO_MAPPER);
+    }
+
+    @Override
+    public List<GroupSummaryDto> findGroupSummariesAfter(long after, int limit) {
+        return jdbcTemplate.query(
+                SELECT_GROUP_SUMMARY + AFTER_ID,
+                new MapSqlParameterSource("after", after).addValue("limit", limit),
+                GROUP_SUMMARY_MAPPER);
+    }
+
+    @Override
+    public List<GroupDto> findActiveGroupDtos(LocalDate currentDate) {
+        return jdbcTemplate.query(
+                SELECT_GROUP_DTO + ACTIVE_ON,
+                new MapSqlParameterSource("currentDate", currentDate),
+                GROUP_DTO_MAPPER);
+    }
+
+    @Override
+    public List<GroupSummaryDto> findActiveGroupSummaries(LocalDate currentDate) {
+        return jdbcTemplate.query(
+                SELECT_GROUP_SUMMARY + ACTIVE_ON,
+                new MapSqlParameterSource("currentDate", currentDate),
+                GROUP_SUMMARY_MAPPER);
+    }
+
+    @Override
+    public List<GroupDto> findGroupDtosWithAvailableSpots(long after, int limit) {
+        return jdbcTemplate.query(
+                SELECT_GROUP_DTO + AVAILABLE_AFTER_ID,
+                new MapSqlParameterSource("after", after).addValue("limit", limit),
+                GROUP_DTO_MAPPER);
+    }
+
+    @Override
+    public List<GroupSummaryDto> findGroupSummariesWithAvailableSpots(long after, int limit) {
+        return jdbcTemplate.query(
+                SELECT_GROUP_SUMMARY + AVAILABLE_AFTER_ID,
+                new MapSqlParameterSource("after", after).addValue("limit", limit),
+                GROUP_SUMMARY_MAPPER);
+    }
+
+    @Override
+    public List<GroupDto> findGroupDtosByStudentEmail(String email) {
+        return jdbcTemplate.query(
+                SELECT_GROUP_DTO + ENROLLED_STUDENT_EMAIL,
+                new MapSqlParameterSource("email", email),
+                GROUP_DTO_MAPPER);
+    }
+
+    @Override
+    public List<GroupSummaryDto> findGroupSummariesByStudentEmail(String email) {
+        return jdbcTemplate.query(
+                SELECT_GROUP_SUMMARY + ENROLLED_STUDENT_EMAIL,
+                new MapSqlParameterSource("email", email),
+                GROUP_SUMMARY_MAPPER);
+    }
+
+    // Both leaderboard variants walk idx_groups_enrolled_count and stop after the page.
+    @Override
+    public List<GroupDto> findGroupDtosOrderedByEnrollment(int offset, int limit) {
+        return jdbcTemplate.query(
+                SELECT_GROUP_DTO + ORDER_BY_ENROLLMENT,
+                new MapSqlParameterSource("offset", offset).addValue("limit", limit),
+                GROUP_DTO_MAPPER);
+    }
+
+    @Override
+    public List<GroupSummaryDto> findGroupSummariesOrderedByEnrollment(int offset, int limit) {
+        return jdbcTemplate.query(
+                SELECT_GROUP_SUMMARY + ORDER_BY_ENROLLMENT,
+                new MapSqlParameterSource("offset", offset).addValue("limit", limit),
+                GROUP_SUMMARY_MAPPER);
+    }
+
+    // A range scan of the (group_id, student_id) primary key, in student id order.
+    @Override
+    public List<RosterEntry> findRosterById(long groupId, long afterId, int limit) {
+        return jdbcTemplate.query(
+                SELECT_ROSTER + "AND gs.student_id > :afterId ORDER BY gs.student_id LIMIT :limit",
+                new MapSqlParameterSource("groupId", groupId).addValue("afterId", afterId).addValue("limit", limit),
+                ROSTER_ENTRY_MAPPER);
+    }
+
+    // Keyset on (last_name, first_name, id), continuing after the sort key carried in the cursor,
+    // so the page boundary holds even if that student has since been renamed or removed.
+    @Override
+    public List<RosterEntry> findRosterByName(long groupId, String afterLastName, String afterFirstName,
+                                             long afterId, int limit) {
+        String keyset = afterLastName == null ? "" : """
+                AND (s.last_name, s.first_name, s.id) > (:afterLastName, :afterFirstName, :afterId)
+                """;
+        return jdbcTemplate.query(
+                SELECT_ROSTER + keyset + "ORDER BY s.last_name, s.first_name, s.id LIMIT :limit",
+                new MapSqlParameterSource("groupId", groupId)
+                        .addValue("afterLastName", afterLastName)
+                        .addValue("afterFirstName", afterFirstName)
+                        .addValue("afterId", afterId)
+                        .addValue("limit", limit),
+                ROSTER_ENTRY_MAPPER);
+    }
+
+    // NamedParameterJdbcTemplate expands IN (:ids) to one placeholder per element, so every
+    // batch size would be a new statement. Repeating the last id up to the next power of two
+    // keeps the number of distinct statements logarithmic, like Hibernate's IN clause padding.
+    private static List<Long> padInList(Collection<Long> ids) {
+        if (ids.size() <= 1 || Integer.bitCount(ids.size()) == 1) {
+            return List.copyOf(ids);
+        }
+        int padded = Integer.highestOneBit(ids.size()) << 1;
+        List<Long> result = new ArrayList<>(padded);
+        result.addAll(ids);
+        Long last = result.get(result.size() - 1);
+        while (result.size() < padded) {
+            result.add(last);
+        }
+        return result;
+    }
+
+    private static StudentIds toStudentIds(Array array) throws SQLException {
+        Long[] ids = (Long[]) array.getArray();
+        StudentIds.Builder builder = StudentIds.builder(ids.length);
+        for (Long id : ids) {
+            builder.add(id);
+        }
+        return builder.build();
+    }
+}
@@ -1,18 +1,28 @@
 package com.epam.java.persistance.demo.repository;
 
+import com.epam.java.persistance.demo.domain.GroupKey;
+import com.epam.java.persistance.demo.domain.GroupSuggestion;
 import com.epam.java.persistance.demo.entity.Group;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface GroupRepository extends JpaRepository<Group, Long> {
+public interface GroupRepository extends JpaRepository<Group, Long>, GroupProjectionRepository {
 
 //    @Query("SELECT DISTINCT g FROM Group g LEFT JOIN FETCH g.students")
 //    List<Group> findAll();
@@ -31,24 +41,109 @@ public interface GroupRepository extends JpaRepository<Group, Long> {
 
     boolean existsByCode(String code);
 
-    @Query("SELECT DISTINCT g FROM Group g LEFT JOIN FETCH g.students WHERE :currentDate BETWEEN g.startDate AND g.endDate")
-    List<Group> findActiveGroups(@Param("currentDate") LocalDate currentDate);
+    @Query("SELECT g.version FROM Group g WHERE g.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
 
-    @Query("SELECT DISTINCT g FROM Group g LEFT JOIN FETCH g.students WHERE SIZE(g.students) < g.maxCapacity")
-    List<Group> findGroupsWithAvailableSpots();
+    @Query("SELECT g.version FROM Group g WHERE g.code = :code")
+    Optional<Long> findVersionByCode(@Param("code") String code);
 
-    @Query("SELECT DISTINCT g FROM Group g LEFT JOIN FETCH g.students WHERE LOWER(g.name) LIKE LOWER(CONCAT('%', :keyword, '%')) " +
-            "OR LOWER(g.code) LIKE LOWER(CONCAT('%', :keyword, '%'))")
-    List<Group> searchByNameOrCode(@Param("keyword") String keyword);
+    // Matching is served by the pg_trgm GIN indexes on name and code; hits are ranked by
+    // trigram similarity and paged by (score, id) so the students join is never touched.
+    @Query(value = """
+            SELECT hit.id AS id, hit.name AS name, hit.code AS code,
+                   hit.start_date AS "startDate", hit.end_date AS "endDate", hit.max_capacity AS "maxCapacity",
+                   hit.enrolled_count AS "currentEnrollment",
+                   hit.score AS score
+            FROM (
+                SELECT g.id, g.name, g.code, g.start_date, g.end_date, g.max_capacity, g.enrolled_count,
+                       GREATEST(similarity(g.name, :keyword), similarity(g.code, :keyword)) AS score
+                FROM groups g
+                WHERE g.name ILIKE :pattern OR g.code ILIKE :pattern
+            ) hit
+            WHERE hit.score < :afterScore OR (hit.score = :afterScore AND hit.id > :afterId)
+            ORDER BY hit.score DESC, hit.id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<GroupSearchHit> searchByNameOrCode(@Param("keyword") String keyword,
+                                            @Param("pattern") String pattern,
+                                            @Param("afterScore") float afterScore,
+                                            @Param("afterId") long afterId,
+                                            @Param("limit") int limit);
 
-    @Query("SELECT DISTINCT g FROM Group g LEFT JOIN FETCH g.students WHERE EXISTS " +
-            "(SELECT 1 FROM Student s WHERE s MEMBER OF g.students AND s.email = :email)")
-    List<Group> findGroupsByStudentEmail(@Param("email") String email);
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT g FROM Group g WHERE g.id = :id")
+    Optional<Group> lockById(@Param("id") Long id);
 
-    @Query("SELECT g.id FROM Group g LEFT JOIN g.students s GROUP BY g.id ORDER BY COUNT(s) DESC")
-    List<Long> findGroupIdsOrderedByStudentCount();
+    @Query("SELECT new com.epam.java.persistance.demo.domain.GroupKey(g.id, g.code) " +
+            "FROM Group g JOIN g.students s WHERE s.id = :studentId")
+    List<GroupKey> findKeysByStudentId(@Param("studentId") Long studentId);
 
-    @Query("SELECT DISTINCT g FROM Group g LEFT JOIN FETCH g.students WHERE g.id IN :ids")
-    List<Group> findByIdWithStudents(@Param("ids") List<Long> ids);
+    @Query(value = "SELECT count(*) FROM group_students WHERE group_id = :groupId", nativeQuery = true)
+    long countEnrolledStudents(@Param("groupId") Long groupId);
+
+    @Query(value = "SELECT student_id FROM group_students WHERE group_id = :groupId", nativeQuery = true)
+    List<Long> findStudentIdsByGroupId(@Param("groupId") Long groupId);
+
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM group_students WHERE group_id = :groupId AND student_id = :studentId)",
+            nativeQuery = true)
+    boolean isStudentEnrolled(@Param("groupId") Long groupId, @Param("studentId") Long studentId);
+
+    @Query(value = "SELECT student_id FROM group_students WHERE group_id = :groupId AND student_id IN (:studentIds)",
+            nativeQuery = true)
+    List<Long> findEnrolledStudentIds(@Param("groupId") Long groupId,
+                                      @Param("studentIds") Collection<Long> studentIds);
+
+    @Modifying
+    @Query(value = "INSERT INTO group_students (group_id, student_id) VALUES (:groupId, :studentId)", nativeQuery = true)
+    int insertEnrollment(@Param("groupId") Long groupId, @Param("studentId") Long studentId);
+
+    @Modifying
+    @Query(value = "DELETE FROM group_students WHERE group_id = :groupId AND student_id = :studentId", nativeQuery = true)
+    int deleteEnrollment(@Param("groupId") Long groupId, @Param("studentId") Long studentId);
+
+    @Modifying
+    @Query(value = "INSERT INTO group_students (group_id, student_id) " +
+            "SELECT :groupId, s.id FROM students s WHERE s.id IN (:studentIds) ON CONFLICT DO NOTHING",
+            nativeQuery = true)
+    int insertEnrollments(@Param("groupId") Long groupId, @Param("studentIds") Collection<Long> studentIds);
+
+    @Query("SELECT new com.epam.java.persistance.demo.domain.GroupSuggestion(g.id, g.code, g.name) FROM Group g")
+    List<GroupSuggestion> findAllSuggestions();
+
+    @Query("SELECT new com.epam.java.persistance.demo.domain.GroupSuggestion(g.id, g.code, g.name) " +
+            "FROM Group g WHERE g.id = :id")
+    Optional<GroupSuggestion> findSuggestionById(@Param("id") Long id);
+
+    @Query(value = """
+            SELECT (SELECT count(*) FROM groups) AS groups,
+                   (SELECT count(*) FROM students) AS students,
+                   (SELECT count(*) FROM group_students) AS enrollments
+            """, nativeQuery = true)
+    DashboardTotals countTotals();
+
+    @Query(value = "SELECT count(*) FROM groups WHERE :currentDate BETWEEN start_date AND end_date", nativeQuery = true)
+    long countActive(@Param("currentDate") LocalDate currentDate);
+
+    @Query(value = """
+            SELECT count(*) FILTER (WHERE enrolled_count >= max_capacity * :ratio AND enrolled_count < max_capacity) AS "nearCapacity",
+                   count(*) FILTER (WHERE enrolled_count >= max_capacity) AS "full"
+            FROM groups
+            """, nativeQuery = true)
+    CapacityCounts countByCapacity(@Param("ratio") double ratio);
+
+    // Bucket i holds groups filled to [i * 100 / buckets, (i + 1) * 100 / buckets) percent; full groups land in the last one.
+    @Query(value = """
+            SELECT LEAST(enrolled_count * :buckets / GREATEST(max_capacity, 1), :buckets - 1) AS bucket,
+                   count(*) AS groups
+            FROM groups
+            GROUP BY 1
+            ORDER BY 1
+            """, nativeQuery = true)
+    List<EnrollmentBucketCount> countByEnrollmentBucket(@Param("buckets") int buckets);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT g.id, g.name, g.code, g.startDate, g.endDate, g.maxCapacity, g.description, s.id " +
+            "FROM Group g LEFT JOIN g.students s ORDER BY g.id")
+    Stream<Object[]> streamAllWithStudentIds();
 
 }
@@ -0,0 +1,22 @@
+package com.epam.java.persistance.demo.repository;
+
+import java.time.LocalDate;
+
+public interface GroupSearchHit {
+
+    Long getId();
+
+    String getName();
+
+    String getCode();
+
+    LocalDate getStartDate();
+
+    LocalDate getEndDate();
+
+    Integer getMaxCapacity();
+
+    Integer getCurrentEnrollment();
+
+    Float getScore();
+}
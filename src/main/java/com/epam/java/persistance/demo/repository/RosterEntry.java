@@ -0,0 +1,7 @@
+package com.epam.java.persistance.demo.repository;
+
+import com.epam.java.persistance.demo.domain.StudentDto;
+
+// The id is only carried to build the next page's cursor; StudentDto has none of its own.
+public record RosterEntry(long id, StudentDto student) {
+}
@@ -0,0 +1,11 @@
+package com.epam.java.persistance.demo.repository;
+
+import com.epam.java.persistance.demo.domain.StudentDto;
+import com.epam.java.persistance.demo.domain.StudentPatch;
+
+import java.util.Optional;
+
+public interface StudentUpdateRepository {
+
+    Optional<StudentDto> updateStudent(long id, StudentPatch patch);
+}
@@ -0,0 +1,57 @@
+package com.epam.java.persistance.demo.repository;
+
+import com.epam.java.persistance.demo.domain.StudentDto;
+import com.epam.java.persistance.demo.domain.StudentPatch;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Applies a {@link StudentPatch} as a single {@code UPDATE ... RETURNING}: only the supplied
+ * columns are written, the version is bumped alongside so ETags change, and a clash on
+ * {@code students.email} surfaces as the unique constraint violation instead of being
+ * checked beforehand.
+ */
+@RequiredArgsConstructor
+public class StudentUpdateRepositoryImpl implements StudentUpdateRepository {
+
+    private static final RowMapper<StudentDto> STUDENT_DTO_MAPPER = (resultSet, rowNum) -> new StudentDto(
+            resultSet.getString("first_name"),
+            resultSet.getString("last_name"),
+            resultSet.getString("email"),
+            resultSet.getInt("age"),
+            resultSet.getLong("version")
+    );
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Override
+    public Optional<StudentDto> updateStudent(long id, StudentPatch patch) {
+        MapSqlParameterSource params = new MapSqlParameterSource("id", id);
+        List<String> assignments = new ArrayList<>();
+        set(assignments, params, "first_name", patch.firstName());
+        set(assignments, params, "last_name", patch.lastName());
+        set(assignments, params, "email", patch.email());
+        set(assignments, params, "age", patch.age());
+        assignments.add("version = version + 1");
+
+        List<StudentDto> updated = jdbcTemplate.query(
+                "UPDATE students SET " + String.join(", ", assignments)
+                        + " WHERE id = :id RETURNING first_name, last_name, email, age, version",
+                params,
+                STUDENT_DTO_MAPPER);
+        return updated.stream().findFirst();
+    }
+
+    private static void set(List<String> assignments, MapSqlParameterSource params, String column, Object value) {
+        if (value != null) {
+            assignments.add(column + " = :" + column);
+            params.addValue(column, value);
+        }
+    }
+}
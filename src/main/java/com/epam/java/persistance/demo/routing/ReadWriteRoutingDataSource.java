@@ -0,0 +1,40 @@
+package com.epam.java.persistance.demo.routing;
+
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Sends connections of read-only transactions to the replicas and everything else to the
+ * primary. The physical connection is only fetched on first use, by which point the
+ * transaction manager has marked it read-only, so the choice follows
+ * {@code @Transactional(readOnly = true)}.
+ * <p>
+ * This needs {@code spring.jpa.open-in-view} to stay off: an EntityManager held open for
+ * the whole request keeps the connection of its first transaction, so later read-only
+ * transactions in the same request would reuse it instead of being routed.
+ */
+public class ReadWriteRoutingDataSource extends LazyConnectionDataSourceProxy implements Closeable {
+
+    private final ReplicaRoutingDataSource replicas;
+
+    public ReadWriteRoutingDataSource(DataSource primary, ReplicaRoutingDataSource replicas) {
+        super(primary);
+        this.replicas = replicas;
+        setReadOnlyDataSource(replicas);
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (DataSource replica : replicas.getReplicas()) {
+            if (replica instanceof Closeable closeable) {
+                closeable.close();
+            }
+        }
+        if (obtainTargetDataSource() instanceof Closeable closeable) {
+            closeable.close();
+        }
+    }
+}
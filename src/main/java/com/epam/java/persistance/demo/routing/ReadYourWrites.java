@@ -0,0 +1,28 @@
+package com.epam.java.persistance.demo.routing;
+
+/**
+ * Time of the last committed write seen by the current thread, either from a read-write
+ * transaction on this thread or carried over from an earlier request by
+ * {@link ReadYourWritesFilter}. Read-only transactions started shortly after it go to the
+ * primary so a client never reads a replica that has not caught up with its own write.
+ */
+public final class ReadYourWrites {
+
+    private static final ThreadLocal<Long> LAST_WRITE = new ThreadLocal<>();
+
+    private ReadYourWrites() {
+    }
+
+    public static void recordWrite(long epochMillis) {
+        LAST_WRITE.set(epochMillis);
+    }
+
+    public static boolean isWithin(long windowMillis) {
+        Long lastWrite = LAST_WRITE.get();
+        return lastWrite != null && System.currentTimeMillis() - lastWrite < windowMillis;
+    }
+
+    public static void clear() {
+        LAST_WRITE.remove();
+    }
+}
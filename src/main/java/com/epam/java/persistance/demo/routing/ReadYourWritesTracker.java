@@ -0,0 +1,46 @@
+package com.epam.java.persistance.demo.routing;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+
+// Registered with the transaction manager; remembers every committed read-write transaction
+// on the current thread and, inside a web request, hands the client a cookie carrying it.
+public class ReadYourWritesTracker implements TransactionExecutionListener {
+
+    private final boolean enabled;
+    private final int cookieMaxAgeSeconds;
+
+    public ReadYourWritesTracker(Duration window) {
+        this.enabled = window.isPositive();
+        this.cookieMaxAgeSeconds = (int) Math.max(1, (window.toMillis() + 999) / 1000);
+    }
+
+    @Override
+    public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+        if (!enabled || commitFailure != null || transaction.isReadOnly() || !transaction.isNewTransaction()) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        ReadYourWrites.recordWrite(now);
+
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servletAttributes) {
+            HttpServletResponse response = servletAttributes.getResponse();
+            if (response != null && !response.isCommitted()) {
+                Cookie cookie = new Cookie(ReadYourWritesFilter.COOKIE_NAME, Long.toString(now));
+                cookie.setPath("/");
+                cookie.setHttpOnly(true);
+                cookie.setMaxAge(cookieMaxAgeSeconds);
+                response.addCookie(cookie);
+            }
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.epam.java.persistance.demo.routing;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+@ConfigurationProperties("app.datasource")
+public record ReplicaProperties(
+        @DefaultValue List<Replica> replicas,
+        @DefaultValue("1s") Duration replicaConnectionTimeout,
+        @DefaultValue("30s") Duration replicaRecheckInterval,
+        @DefaultValue("5s") Duration readYourWritesWindow
+) {
+
+    // Username and password default to the primary's.
+    public record Replica(String url, String username, String password) {}
+}
@@ -0,0 +1,78 @@
+package com.epam.java.persistance.demo.routing;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hands out read-only connections round-robin across the replicas. A replica that fails
+ * to produce a connection is skipped until the recheck interval has passed; when no
+ * replica is usable, or the thread wrote within the read-your-writes window, the
+ * connection comes from the primary instead.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource {
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final long recheckIntervalMillis;
+    private final long readYourWritesWindowMillis;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<? extends DataSource> replicas,
+                                    long recheckIntervalMillis, long readYourWritesWindowMillis) {
+        this.primary = primary;
+        this.replicas = replicas.stream().map(Replica::new).toList();
+        this.recheckIntervalMillis = recheckIntervalMillis;
+        this.readYourWritesWindowMillis = readYourWritesWindowMillis;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (ReadYourWrites.isWithin(readYourWritesWindowMillis)) {
+            return primary.getConnection();
+        }
+
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            int index = (start + i) % replicas.size();
+            Replica replica = replicas.get(index);
+            long now = System.currentTimeMillis();
+            if (replica.downUntil > now) {
+                continue;
+            }
+            try {
+                return replica.dataSource.getConnection();
+            } catch (SQLException e) {
+                replica.downUntil = now + recheckIntervalMillis;
+                log.warn("Replica {} unavailable, skipping it for {} ms", index, recheckIntervalMillis, e);
+            }
+        }
+        return primary.getConnection();
+    }
+
+    // Replica pools are set up with the configured credentials only, so explicit ones go to the primary.
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary.getConnection(username, password);
+    }
+
+    List<? extends DataSource> getReplicas() {
+        return replicas.stream().map(replica -> replica.dataSource).toList();
+    }
+
+    private static final class Replica {
+
+        private final DataSource dataSource;
+        private volatile long downUntil;
+
+        private Replica(DataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+    }
+}
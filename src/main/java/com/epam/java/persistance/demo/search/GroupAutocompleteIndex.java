@@ -0,0 +1,229 @@
+package com.epam.java.persistance.demo.search;
+
+import com.epam.java.persistance.demo.cache.CacheInvalidationBus;
+import com.epam.java.persistance.demo.cache.RemoteEvictionEvent;
+import com.epam.java.persistance.demo.cache.RemoteResetEvent;
+import com.epam.java.persistance.demo.domain.GroupSuggestion;
+import com.epam.java.persistance.demo.repository.GroupRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * In-memory prefix index over group codes and names for type-ahead lookups.
+ * <p>
+ * Terms are kept in sorted skip lists keyed by {@code term + '\0' + id}, so a prefix
+ * lookup is a range scan that stops after {@code limit} distinct groups. Code matches
+ * rank ahead of name matches, and a name is indexed from the start of every word.
+ * Reads are lock-free; writes are applied after the surrounding transaction commits.
+ * A rebuild fills fresh indexes from a snapshot, replays the writes that landed while the
+ * snapshot was read, and swaps them in. Changes announced by other nodes are reloaded on
+ * a background thread, and a reconnect of the invalidation listener triggers a rebuild.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class GroupAutocompleteIndex {
+
+    // Not a cache; announced over the invalidation bus so other nodes refresh their index
+    // only when a group's code or name may have changed, not on every enrollment.
+    public static final String SUGGESTIONS = "groupSuggestions";
+
+    private static final char KEY_SEPARATOR = '\0';
+    private static final char MAX_CHAR = Character.MAX_VALUE;
+
+    private final GroupRepository groupRepository;
+    private final CacheInvalidationBus invalidationBus;
+
+    // A single thread, so refreshes of the same group apply in the order they were read.
+    private final ExecutorService refresher = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("autocomplete-refresh").daemon().factory());
+    private final Set<Long> pendingRefresh = ConcurrentHashMap.newKeySet();
+
+    private volatile Indexes indexes = new Indexes();
+    // Changes applied while a rebuild reads its snapshot; replayed onto the rebuilt indexes.
+    private Map<Long, GroupSuggestion> appliedDuringRebuild;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.nanoTime();
+        synchronized (this) {
+            appliedDuringRebuild = new HashMap<>();
+        }
+
+        List<GroupSuggestion> suggestions;
+        try {
+            suggestions = groupRepository.findAllSuggestions();
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                appliedDuringRebuild = null;
+            }
+            throw e;
+        }
+
+        Indexes rebuilt = new Indexes();
+        suggestions.forEach(rebuilt::add);
+        synchronized (this) {
+            appliedDuringRebuild.forEach(rebuilt::apply);
+            appliedDuringRebuild = null;
+            indexes = rebuilt;
+        }
+        log.info("Indexed {} groups for autocomplete in {} ms",
+                suggestions.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    public List<GroupSuggestion> suggest(String prefix, int limit) {
+        String term = normalize(prefix);
+        if (term.isEmpty() || limit < 1) {
+            return List.of();
+        }
+
+        Indexes current = indexes;
+        Map<Long, GroupSuggestion> matches = new LinkedHashMap<>();
+        collect(current.codeIndex, term, limit, matches);
+        collect(current.nameIndex, term, limit, matches);
+        return new ArrayList<>(matches.values());
+    }
+
+    public void upsert(GroupSuggestion suggestion) {
+        invalidationBus.publish(SUGGESTIONS, List.of(suggestion.id()));
+        afterCommit(() -> apply(suggestion.id(), suggestion));
+    }
+
+    public void remove(Long id) {
+        invalidationBus.publish(SUGGESTIONS, List.of(id));
+        afterCommit(() -> apply(id, null));
+    }
+
+    // Runs on the invalidation listener thread, which must not wait for the database;
+    // the reload is queued instead, once per group however often it is announced.
+    @EventListener
+    public void onRemoteEviction(RemoteEvictionEvent event) {
+        if (SUGGESTIONS.equals(event.cacheName()) && event.key() instanceof Long id && pendingRefresh.add(id)) {
+            refresher.execute(() -> refresh(id));
+        }
+    }
+
+    @EventListener
+    public void onRemoteReset(RemoteResetEvent event) {
+        refresher.execute(() -> {
+            try {
+                rebuild();
+            } catch (RuntimeException e) {
+                log.warn("Failed to rebuild the autocomplete index after a reset", e);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refresher.shutdownNow();
+    }
+
+    private void refresh(Long id) {
+        // Cleared before reading, so an announcement arriving meanwhile queues another read
+        pendingRefresh.remove(id);
+        try {
+            apply(id, groupRepository.findSuggestionById(id).orElse(null));
+        } catch (RuntimeException e) {
+            log.warn("Failed to refresh autocomplete entry for group {}", id, e);
+        }
+    }
+
+    private synchronized void apply(Long id, GroupSuggestion suggestion) {
+        indexes.apply(id, suggestion);
+        if (appliedDuringRebuild != null) {
+            appliedDuringRebuild.put(id, suggestion);
+        }
+    }
+
+    private static void collect(NavigableMap<String, GroupSuggestion> index, String term, int limit,
+                                Map<Long, GroupSuggestion> matches) {
+        for (GroupSuggestion suggestion : index.subMap(term, true, term + MAX_CHAR, false).values()) {
+            if (matches.size() >= limit) {
+                return;
+            }
+            matches.putIfAbsent(suggestion.id(), suggestion);
+        }
+    }
+
+    private static List<String> termsOf(String text, boolean everyWord) {
+        String normalized = normalize(text);
+        List<String> terms = new ArrayList<>();
+        if (normalized.isEmpty()) {
+            return terms;
+        }
+        terms.add(normalized);
+        if (everyWord) {
+            for (int i = 1; i < normalized.length(); i++) {
+                if (!Character.isLetterOrDigit(normalized.charAt(i - 1)) && Character.isLetterOrDigit(normalized.charAt(i))) {
+                    terms.add(normalized.substring(i));
+                }
+            }
+        }
+        return terms;
+    }
+
+    private static String key(String term, Long id) {
+        return term + KEY_SEPARATOR + id;
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.strip().toLowerCase(Locale.ROOT);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static final class Indexes {
+
+        private final NavigableMap<String, GroupSuggestion> codeIndex = new ConcurrentSkipListMap<>();
+        private final NavigableMap<String, GroupSuggestion> nameIndex = new ConcurrentSkipListMap<>();
+        private final Map<Long, GroupSuggestion> suggestionsById = new ConcurrentHashMap<>();
+
+        void apply(Long id, GroupSuggestion suggestion) {
+            GroupSuggestion previous = suggestionsById.remove(id);
+            if (previous != null) {
+                termsOf(previous.code(), false).forEach(term -> codeIndex.remove(key(term, id)));
+                termsOf(previous.name(), true).forEach(term -> nameIndex.remove(key(term, id)));
+            }
+            if (suggestion != null) {
+                add(suggestion);
+            }
+        }
+
+        void add(GroupSuggestion suggestion) {
+            suggestionsById.put(suggestion.id(), suggestion);
+            termsOf(suggestion.code(), false).forEach(term -> codeIndex.put(key(term, suggestion.id()), suggestion));
+            termsOf(suggestion.name(), true).forEach(term -> nameIndex.put(key(term, suggestion.id()), suggestion));
+        }
+    }
+}
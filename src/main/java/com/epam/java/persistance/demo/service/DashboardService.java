@@ -0,0 +1,8 @@
+package com.epam.java.persistance.demo.service;
+
+import com.epam.java.persistance.demo.domain.DashboardDto;
+
+public interface DashboardService {
+
+    DashboardDto getDashboard();
+}
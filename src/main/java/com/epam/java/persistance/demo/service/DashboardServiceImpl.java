@@ -0,0 +1,132 @@
+package com.epam.java.persistance.demo.service;
+
+import com.epam.java.persistance.demo.bulkhead.DatabaseBulkhead;
+import com.epam.java.persistance.demo.bulkhead.SkipBulkhead;
+import com.epam.java.persistance.demo.domain.DashboardDto;
+import com.epam.java.persistance.demo.domain.EnrollmentBucket;
+import com.epam.java.persistance.demo.repository.CapacityCounts;
+import com.epam.java.persistance.demo.repository.DashboardTotals;
+import com.epam.java.persistance.demo.repository.GroupRepository;
+import com.epam.java.persistance.demo.repository.StudentRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+// Each part is a single aggregate query run on its own task executor thread and therefore its
+// own connection, so the dashboard takes as long as the slowest part rather than their sum.
+// The part timeout counts from submission and bounds everything a part does: its wait for a
+// bulkhead permit, and through statement_timeout set to whatever time is left, its query, so a
+// part that is given up on never starts or is cancelled in the database. This method only
+// waits, so it does not take a bulkhead permit itself.
+@Slf4j
+@Service
+@SkipBulkhead
+public class DashboardServiceImpl implements DashboardService {
+
+    private static final int ENROLLMENT_BUCKETS = 4;
+
+    private final GroupRepository groupRepository;
+    private final StudentRepository studentRepository;
+    private final StatementTimeouts statementTimeouts;
+    private final DatabaseBulkhead bulkhead;
+    private final AsyncTaskExecutor taskExecutor;
+    private final Duration partTimeout;
+    private final double nearCapacityRatio;
+
+    public DashboardServiceImpl(GroupRepository groupRepository,
+                                StudentRepository studentRepository,
+                                StatementTimeouts statementTimeouts,
+                                DatabaseBulkhead bulkhead,
+                                @Qualifier("applicationTaskExecutor") AsyncTaskExecutor taskExecutor,
+                                @Value("${app.dashboard.part-timeout:2s}") Duration partTimeout,
+                                @Value("${app.dashboard.near-capacity-ratio:0.9}") double nearCapacityRatio) {
+        this.groupRepository = groupRepository;
+        this.studentRepository = studentRepository;
+        this.statementTimeouts = statementTimeouts;
+        this.bulkhead = bulkhead;
+        this.taskExecutor = taskExecutor;
+        this.partTimeout = partTimeout;
+        this.nearCapacityRatio = nearCapacityRatio;
+    }
+
+    @Override
+    public DashboardDto getDashboard() {
+        CompletableFuture<DashboardTotals> totals = submit(groupRepository::countTotals);
+        CompletableFuture<Long> active = submit(() -> groupRepository.countActive(LocalDate.now()));
+        CompletableFuture<CapacityCounts> capacity = submit(() -> groupRepository.countByCapacity(nearCapacityRatio));
+        CompletableFuture<List<EnrollmentBucket>> distribution = submit(this::enrollmentDistribution);
+        CompletableFuture<Double> averageAge = submit(studentRepository::averageAge);
+
+        List<String> unavailable = new ArrayList<>();
+        DashboardTotals totalsResult = join("totals", totals, unavailable);
+        Long activeResult = join("activeGroups", active, unavailable);
+        CapacityCounts capacityResult = join("capacity", capacity, unavailable);
+        List<EnrollmentBucket> distributionResult = join("enrollmentDistribution", distribution, unavailable);
+        Double averageAgeResult = join("averageAge", averageAge, unavailable);
+
+        return new DashboardDto(
+                totalsResult == null ? null : totalsResult.getGroups(),
+                totalsResult == null ? null : totalsResult.getStudents(),
+                totalsResult == null ? null : totalsResult.getEnrollments(),
+                activeResult,
+                capacityResult == null ? null : capacityResult.getNearCapacity(),
+                capacityResult == null ? null : capacityResult.getFull(),
+                distributionResult,
+                averageAgeResult,
+                unavailable
+        );
+    }
+
+    private List<EnrollmentBucket> enrollmentDistribution() {
+        long[] counts = new long[ENROLLMENT_BUCKETS];
+        groupRepository.countByEnrollmentBucket(ENROLLMENT_BUCKETS)
+                .forEach(row -> counts[row.getBucket()] = row.getGroups());
+
+        List<EnrollmentBucket> buckets = new ArrayList<>(ENROLLMENT_BUCKETS);
+        for (int i = 0; i < ENROLLMENT_BUCKETS; i++) {
+            buckets.add(new EnrollmentBucket(i * 100 / ENROLLMENT_BUCKETS, (i + 1) * 100 / ENROLLMENT_BUCKETS, counts[i]));
+        }
+        return buckets;
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> part) {
+        long deadline = System.nanoTime() + partTimeout.toNanos();
+        return CompletableFuture.supplyAsync(() -> bulkhead.withPermit(remaining(deadline), () -> {
+                    Duration left = remaining(deadline);
+                    if (!left.isPositive()) {
+                        throw new CancellationException("Dashboard part timed out before it started");
+                    }
+                    return statementTimeouts.readOnly(left, part);
+                }), taskExecutor)
+                .orTimeout(partTimeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private static Duration remaining(long deadline) {
+        return Duration.ofNanos(deadline - System.nanoTime());
+    }
+
+    private static <T> T join(String part, CompletableFuture<T> future, List<String> unavailable) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while loading the dashboard", e);
+        } catch (ExecutionException e) {
+            log.warn("Dashboard part {} unavailable", part, e.getCause());
+            unavailable.add(part);
+            return null;
+        }
+    }
+}
@@ -1,22 +1,41 @@
 package com.epam.java.persistance.demo.service;
 
+import com.epam.java.persistance.demo.domain.BatchLookup;
+import com.epam.java.persistance.demo.domain.EnrollmentOutcome;
 import com.epam.java.persistance.demo.domain.GroupDto;
+import com.epam.java.persistance.demo.domain.GroupSearchPage;
+import com.epam.java.persistance.demo.domain.GroupSuggestion;
+import com.epam.java.persistance.demo.domain.GroupSummaryDto;
+import com.epam.java.persistance.demo.domain.RosterPage;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface GroupService {
 
-    List<GroupDto> getAllGroups();
+    List<GroupDto> getAllGroups(Long after, int limit);
+    List<GroupSummaryDto> getGroupSummaries(Long after, int limit);
     GroupDto getGroupById(Long id);
+    BatchLookup<GroupDto> getGroupsByIds(List<Long> ids);
     GroupDto getGroupByCode(String code);
+    long getGroupVersion(Long id);
+    long getGroupVersionByCode(String code);
     GroupDto createGroup(GroupDto groupDto);
     GroupDto updateGroup(Long id, GroupDto groupDto);
     void deleteGroup(Long id);
     GroupDto addStudentToGroup(Long groupId, Long studentId);
+    List<EnrollmentOutcome> addStudentsToGroup(Long groupId, List<Long> studentIds);
     GroupDto removeStudentFromGroup(Long groupId, Long studentId);
+    RosterPage getGroupRoster(Long groupId, String cursor, int limit, String sort);
     List<GroupDto> getActiveGroups();
-    List<GroupDto> getGroupsWithAvailableSpots();
-    List<GroupDto> searchGroups(String keyword);
+    List<GroupSummaryDto> getActiveGroupSummaries();
+    List<GroupDto> getGroupsWithAvailableSpots(Long after, int limit);
+    List<GroupSummaryDto> getGroupSummariesWithAvailableSpots(Long after, int limit);
+    GroupSearchPage searchGroups(String keyword, String cursor, int limit);
+    List<GroupSuggestion> autocompleteGroups(String prefix, int limit);
     List<GroupDto> getGroupsByStudentEmail(String email);
-    List<GroupDto> getGroupsOrderedByStudentCount();
+    List<GroupSummaryDto> getGroupSummariesByStudentEmail(String email);
+    List<GroupDto> getGroupsOrderedByStudentCount(int offset, int limit);
+    List<GroupSummaryDto> getGroupEnrollmentCounts(int offset, int limit);
+    void exportGroups(Consumer<GroupDto> sink);
 }
@@ -1,48 +1,121 @@
 package com.epam.java.persistance.demo.service;
 
+import com.epam.java.persistance.demo.bulkhead.SkipBulkhead;
+import com.epam.java.persistance.demo.cache.CacheInvalidator;
+import com.epam.java.persistance.demo.cache.SingleFlight;
+import com.epam.java.persistance.demo.config.CacheConfig;
+import com.epam.java.persistance.demo.domain.BatchLookup;
+import com.epam.java.persistance.demo.domain.EnrollmentOutcome;
 import com.epam.java.persistance.demo.domain.GroupDto;
+import com.epam.java.persistance.demo.domain.GroupSearchPage;
+import com.epam.java.persistance.demo.domain.GroupSuggestion;
+import com.epam.java.persistance.demo.domain.GroupSummaryDto;
+import com.epam.java.persistance.demo.domain.RosterPage;
+import com.epam.java.persistance.demo.domain.StudentIds;
 import com.epam.java.persistance.demo.entity.Group;
-import com.epam.java.persistance.demo.entity.Student;
+import com.epam.java.persistance.demo.exception.InvalidBatchLookupException;
+import com.epam.java.persistance.demo.exception.InvalidPageRequestException;
 import com.epam.java.persistance.demo.mapper.GroupMapper;
 import com.epam.java.persistance.demo.repository.GroupRepository;
+import com.epam.java.persistance.demo.repository.GroupSearchHit;
+import com.epam.java.persistance.demo.repository.RosterEntry;
 import com.epam.java.persistance.demo.repository.StudentRepository;
+import com.epam.java.persistance.demo.search.GroupAutocompleteIndex;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class GroupServiceImpl implements GroupService {
 
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int MAX_ENROLLMENT_BATCH_SIZE = 1000;
+    private static final int MAX_LOOKUP_BATCH_SIZE = 10_000;
+    private static final int LOOKUP_CHUNK_SIZE = 1000;
+    private static final int MAX_SUGGESTIONS = 50;
+    private static final float FIRST_PAGE_SCORE = 2f;
+
     private final GroupRepository groupRepository;
     private final StudentRepository studentRepository;
     private final GroupMapper groupMapper;
+    private final CacheInvalidator cacheInvalidator;
+    private final GroupAutocompleteIndex autocompleteIndex;
 
-    public List<GroupDto> getAllGroups() {
-        return groupRepository.findAll().stream()
-                .map(groupMapper::toGroupDto)
-                .collect(Collectors.toList());
+    public List<GroupDto> getAllGroups(Long after, int limit) {
+        validateLimit(limit);
+        return groupRepository.findGroupDtosAfter(after == null ? 0L : after, limit);
     }
 
+    public List<GroupSummaryDto> getGroupSummaries(Long after, int limit) {
+        validateLimit(limit);
+        return groupRepository.findGroupSummariesAfter(after == null ? 0L : after, limit);
+    }
+
+    @SingleFlight(CacheConfig.GROUPS_BY_ID)
+    @Cacheable(cacheNames = CacheConfig.GROUPS_BY_ID, key = "#id")
     public GroupDto getGroupById(Long id) {
         Group group = groupRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Group not found with id: " + id));
         return groupMapper.toGroupDto(group);
     }
 
+    // One IN query per chunk of ids instead of one getGroupById per group.
+    public BatchLookup<GroupDto> getGroupsByIds(List<Long> ids) {
+        if (ids.size() > MAX_LOOKUP_BATCH_SIZE) {
+            throw new InvalidBatchLookupException("At most " + MAX_LOOKUP_BATCH_SIZE + " groups can be fetched at once");
+        }
+        if (ids.stream().anyMatch(Objects::isNull)) {
+            throw new InvalidBatchLookupException("Group ids must not be null");
+        }
+
+        List<Long> requestedIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        Map<Long, GroupDto> loaded = new HashMap<>();
+        for (int from = 0; from < requestedIds.size(); from += LOOKUP_CHUNK_SIZE) {
+            List<Long> chunk = requestedIds.subList(from, Math.min(from + LOOKUP_CHUNK_SIZE, requestedIds.size()));
+            groupRepository.findGroupDtosByIds(chunk)
+                    .forEach(group -> loaded.put(group.id(), group));
+        }
+        return BatchLookup.of(requestedIds, loaded);
+    }
+
+    @SingleFlight(CacheConfig.GROUPS_BY_CODE)
+    @Cacheable(cacheNames = CacheConfig.GROUPS_BY_CODE, key = "#code")
     public GroupDto getGroupByCode(String code) {
         Group group = groupRepository.findByCode(code)
                 .orElseThrow(() -> new RuntimeException("Group not found with code: " + code));
         return groupMapper.toGroupDto(group);
     }
 
+    public long getGroupVersion(Long id) {
+        return groupRepository.findVersionById(id)
+                .orElseThrow(() -> new RuntimeException("Group not found with id: " + id));
+    }
+
+    public long getGroupVersionByCode(String code) {
+        return groupRepository.findVersionByCode(code)
+                .orElseThrow(() -> new RuntimeException("Group not found with code: " + code));
+    }
+
     @Transactional
     public GroupDto createGroup(GroupDto groupDto) {
         if (groupRepository.existsByCode(groupDto.code())) {
@@ -55,12 +128,16 @@ public class GroupServiceImpl implements GroupService {
 
         Group group = groupMapper.toGroupEntity(groupDto);
         Group savedGroup = groupRepository.save(group);
+        cacheInvalidator.evictGroup(savedGroup.getId(), savedGroup.getCode());
+        autocompleteIndex.upsert(new GroupSuggestion(savedGroup.getId(), savedGroup.getCode(), savedGroup.getName()));
         return groupMapper.toGroupDto(savedGroup);
     }
 
+    // Enrollments bump the group's version through the roster triggers; the row lock makes
+    // them wait for this transaction instead of failing its version check at commit.
     @Transactional
     public GroupDto updateGroup(Long id, GroupDto groupDto) {
-        Group existingGroup = groupRepository.findById(id)
+        Group existingGroup = groupRepository.lockById(id)
                 .orElseThrow(() -> new RuntimeException("Group not found with id: " + id));
 
         if (!existingGroup.getCode().equals(groupDto.code()) &&
@@ -68,6 +145,8 @@ public class GroupServiceImpl implements GroupService {
             throw new RuntimeException("Group with code " + groupDto.code() + " already exists");
         }
 
+        cacheInvalidator.evictGroup(id, existingGroup.getCode(), groupDto.code());
+
         existingGroup.setName(groupDto.name());
         existingGroup.setCode(groupDto.code());
         existingGroup.setStartDate(groupDto.startDate());
@@ -76,36 +155,91 @@ public class GroupServiceImpl implements GroupService {
         existingGroup.setDescription(groupDto.description());
 
         Group updatedGroup = groupRepository.save(existingGroup);
+        autocompleteIndex.upsert(new GroupSuggestion(updatedGroup.getId(), updatedGroup.getCode(), updatedGroup.getName()));
         return groupMapper.toGroupDto(updatedGroup);
     }
 
     @Transactional
     public void deleteGroup(Long id) {
-        if (!groupRepository.existsById(id)) {
-            throw new RuntimeException("Group not found with id: " + id);
-        }
-        groupRepository.deleteById(id);
+        Group group = groupRepository.lockById(id)
+                .orElseThrow(() -> new RuntimeException("Group not found with id: " + id));
+        groupRepository.delete(group);
+        cacheInvalidator.evictGroup(id, group.getCode());
+        autocompleteIndex.remove(id);
     }
 
+    // Enrollment works on group_students directly and never initializes Group.students.
+    // Concurrent enrollments into one group queue on the group row lock, so the capacity
+    // check against the trigger-maintained enrolled_count and the insert are atomic.
     @Transactional
     public GroupDto addStudentToGroup(Long groupId, Long studentId) {
-        Group group = groupRepository.findById(groupId)
+        Group group = groupRepository.lockById(groupId)
                 .orElseThrow(() -> new RuntimeException("Group not found with id: " + groupId));
 
-        Student student = studentRepository.findById(studentId)
-                .orElseThrow(() -> new RuntimeException("Student not found with id: " + studentId));
+        if (!studentRepository.existsById(studentId)) {
+            throw new RuntimeException("Student not found with id: " + studentId);
+        }
 
-        if (group.getStudents().size() >= group.getMaxCapacity()) {
+        if (group.getEnrolledCount() >= group.getMaxCapacity()) {
             throw new RuntimeException("Group has reached maximum capacity");
         }
 
-        if (group.getStudents().contains(student)) {
+        if (groupRepository.isStudentEnrolled(groupId, studentId)) {
             throw new RuntimeException("Student is already enrolled in this group");
         }
 
-        group.getStudents().add(student);
-        Group updatedGroup = groupRepository.save(group);
-        return groupMapper.toGroupDto(updatedGroup);
+        groupRepository.insertEnrollment(groupId, studentId);
+        cacheInvalidator.evictGroup(groupId, group.getCode());
+        return toGroupDtoWithStudentIds(group);
+    }
+
+    // The group row stays locked until commit, so the capacity read here cannot be
+    // overtaken by a concurrent enrollment into the same group.
+    @Transactional
+    public List<EnrollmentOutcome> addStudentsToGroup(Long groupId, List<Long> studentIds) {
+        if (studentIds.size() > MAX_ENROLLMENT_BATCH_SIZE) {
+            throw new RuntimeException("At most " + MAX_ENROLLMENT_BATCH_SIZE + " students can be enrolled at once");
+        }
+
+        Group group = groupRepository.lockById(groupId)
+                .orElseThrow(() -> new RuntimeException("Group not found with id: " + groupId));
+
+        Set<Long> requestedIds = new LinkedHashSet<>(studentIds);
+        if (requestedIds.isEmpty()) {
+            return List.of();
+        }
+
+        Set<Long> existingIds = new HashSet<>(studentRepository.findExistingIds(requestedIds));
+        Set<Long> enrolledIds = new HashSet<>(groupRepository.findEnrolledStudentIds(groupId, requestedIds));
+        long freeSpots = group.getMaxCapacity() - group.getEnrolledCount();
+
+        List<EnrollmentOutcome> outcomes = new ArrayList<>(studentIds.size());
+        List<Long> toEnroll = new ArrayList<>();
+        Set<Long> seenIds = new HashSet<>();
+        for (Long studentId : studentIds) {
+            EnrollmentOutcome.Status status;
+            if (!seenIds.add(studentId)) {
+                status = EnrollmentOutcome.Status.DUPLICATE_IN_REQUEST;
+            } else if (!existingIds.contains(studentId)) {
+                status = EnrollmentOutcome.Status.NOT_FOUND;
+            } else if (enrolledIds.contains(studentId)) {
+                status = EnrollmentOutcome.Status.ALREADY_ENROLLED;
+            } else if (freeSpots <= 0) {
+                status = EnrollmentOutcome.Status.OVER_CAPACITY;
+            } else {
+                enrolledIds.add(studentId);
+                toEnroll.add(studentId);
+                freeSpots--;
+                status = EnrollmentOutcome.Status.ENROLLED;
+            }
+            outcomes.add(new EnrollmentOutcome(studentId, status));
+        }
+
+        if (!toEnroll.isEmpty()) {
+            groupRepository.insertEnrollments(groupId, toEnroll);
+            cacheInvalidator.evictGroup(groupId, group.getCode());
+        }
+        return outcomes;
     }
 
     @Transactional
@@ -113,54 +247,217 @@ public class GroupServiceImpl implements GroupService {
         Group group = groupRepository.findById(groupId)
                 .orElseThrow(() -> new RuntimeException("Group not found with id: " + groupId));
 
-        Student student = studentRepository.findById(studentId)
-                .orElseThrow(() -> new RuntimeException("Student not found with id: " + studentId));
+        if (!studentRepository.existsById(studentId)) {
+            throw new RuntimeException("Student not found with id: " + studentId);
+        }
 
-        if (!group.getStudents().contains(student)) {
+        if (groupRepository.deleteEnrollment(groupId, studentId) == 0) {
             throw new RuntimeException("Student is not enrolled in this group");
         }
 
-        group.getStudents().remove(student);
-        Group updatedGroup = groupRepository.save(group);
-        return groupMapper.toGroupDto(updatedGroup);
+        cacheInvalidator.evictGroup(groupId, group.getCode());
+        return toGroupDtoWithStudentIds(group);
+    }
+
+    public RosterPage getGroupRoster(Long groupId, String cursor, int limit, String sort) {
+        validateLimit(limit);
+
+        RosterCursor after = cursor == null ? null : parseRosterCursor(groupId, sort, cursor);
+        List<RosterEntry> entries = switch (sort) {
+            case "id" -> groupRepository.findRosterById(groupId, after == null ? 0L : after.id(), limit);
+            case "name" -> after == null
+                    ? groupRepository.findRosterByName(groupId, null, null, 0L, limit)
+                    : groupRepository.findRosterByName(groupId, after.lastName(), after.firstName(), after.id(), limit);
+            default -> throw new InvalidPageRequestException("Unknown roster sort: " + sort);
+        };
+
+        // Only an empty page needs the extra lookup to tell an unknown group from an empty roster.
+        if (entries.isEmpty() && !groupRepository.existsById(groupId)) {
+            throw new RuntimeException("Group not found with id: " + groupId);
+        }
+
+        String nextCursor = null;
+        if (entries.size() == limit) {
+            nextCursor = rosterCursor(groupId, sort, entries.get(entries.size() - 1));
+        }
+        return new RosterPage(entries.stream().map(RosterEntry::student).toList(), nextCursor);
+    }
+
+    // The roster triggers bumped the version after the group was loaded, so it is read again.
+    private GroupDto toGroupDtoWithStudentIds(Group group) {
+        List<Long> studentIds = groupRepository.findStudentIdsByGroupId(group.getId());
+        StudentIds.Builder ids = StudentIds.builder(studentIds.size());
+        studentIds.forEach(ids::add);
+        Long version = groupRepository.findVersionById(group.getId())
+                .orElseThrow(() -> new RuntimeException("Group not found with id: " + group.getId()));
+        return groupMapper.toGroupDto(group, ids.build()).withVersion(version);
     }
 
     public List<GroupDto> getActiveGroups() {
-        return groupRepository.findActiveGroups(LocalDate.now()).stream()
-                .map(groupMapper::toGroupDto)
-                .collect(Collectors.toList());
+        return groupRepository.findActiveGroupDtos(LocalDate.now());
     }
 
-    public List<GroupDto> getGroupsWithAvailableSpots() {
-        return groupRepository.findGroupsWithAvailableSpots().stream()
-                .map(groupMapper::toGroupDto)
-                .collect(Collectors.toList());
+    public List<GroupSummaryDto> getActiveGroupSummaries() {
+        return groupRepository.findActiveGroupSummaries(LocalDate.now());
     }
 
-    public List<GroupDto> searchGroups(String keyword) {
-        return groupRepository.searchByNameOrCode(keyword).stream()
-                .map(groupMapper::toGroupDto)
+    public List<GroupDto> getGroupsWithAvailableSpots(Long after, int limit) {
+        validateLimit(limit);
+        return groupRepository.findGroupDtosWithAvailableSpots(after == null ? 0L : after, limit);
+    }
+
+    public List<GroupSummaryDto> getGroupSummariesWithAvailableSpots(Long after, int limit) {
+        validateLimit(limit);
+        return groupRepository.findGroupSummariesWithAvailableSpots(after == null ? 0L : after, limit);
+    }
+
+    public GroupSearchPage searchGroups(String keyword, String cursor, int limit) {
+        validateLimit(limit);
+
+        float afterScore = FIRST_PAGE_SCORE;
+        long afterId = 0L;
+        if (cursor != null) {
+            String[] parts = cursor.split(":", 2);
+            try {
+                afterScore = Float.parseFloat(parts[0]);
+                afterId = Long.parseLong(parts[1]);
+            } catch (RuntimeException e) {
+                throw new InvalidPageRequestException("Invalid search cursor: " + cursor);
+            }
+        }
+
+        List<GroupSearchHit> hits = groupRepository.searchByNameOrCode(
+                keyword, "%" + escapeLikePattern(keyword) + "%", afterScore, afterId, limit);
+
+        List<GroupSummaryDto> groups = hits.stream()
+                .map(hit -> new GroupSummaryDto(hit.getId(), hit.getName(), hit.getCode(),
+                        hit.getStartDate(), hit.getEndDate(), hit.getMaxCapacity(),
+                        hit.getCurrentEnrollment()))
                 .collect(Collectors.toList());
+
+        String nextCursor = null;
+        if (hits.size() == limit) {
+            GroupSearchHit last = hits.get(hits.size() - 1);
+            nextCursor = last.getScore() + ":" + last.getId();
+        }
+        return new GroupSearchPage(groups, nextCursor);
+    }
+
+    // Served from memory: no transaction, so no connection, and no bulkhead permit
+    @SkipBulkhead
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<GroupSuggestion> autocompleteGroups(String prefix, int limit) {
+        return autocompleteIndex.suggest(prefix, Math.min(limit, MAX_SUGGESTIONS));
     }
 
     public List<GroupDto> getGroupsByStudentEmail(String email) {
-        return groupRepository.findGroupsByStudentEmail(email).stream()
-                .map(groupMapper::toGroupDto)
-                .collect(Collectors.toList());
+        return groupRepository.findGroupDtosByStudentEmail(email);
     }
 
-    public List<GroupDto> getGroupsOrderedByStudentCount() {
-        List<Long> orderedIds = groupRepository.findGroupIdsOrderedByStudentCount();
-        List<Group> groups = groupRepository.findByIdWithStudents(orderedIds);
+    public List<GroupSummaryDto> getGroupSummariesByStudentEmail(String email) {
+        return groupRepository.findGroupSummariesByStudentEmail(email);
+    }
 
-        Map<Long, Group> groupMap = groups.stream()
-                .collect(Collectors.toMap(Group::getId, g -> g));
+    public List<GroupDto> getGroupsOrderedByStudentCount(int offset, int limit) {
+        validatePage(offset, limit);
+        return groupRepository.findGroupDtosOrderedByEnrollment(offset, limit);
+    }
 
-        return orderedIds.stream()
-                .map(groupMap::get)
-                .map(groupMapper::toGroupDto)
-                .filter(Objects::nonNull)
-                .collect(Collectors.toList());
+    public List<GroupSummaryDto> getGroupEnrollmentCounts(int offset, int limit) {
+        validatePage(offset, limit);
+        return groupRepository.findGroupSummariesOrderedByEnrollment(offset, limit);
     }
 
+    // Rows arrive ordered by group id with one row per enrolled student, so only the
+    // group currently being assembled is ever held in memory.
+    public void exportGroups(Consumer<GroupDto> sink) {
+        try (Stream<Object[]> rows = groupRepository.streamAllWithStudentIds()) {
+            Iterator<Object[]> iterator = rows.iterator();
+            Object[] current = null;
+            StudentIds.Builder studentIds = StudentIds.builder(16);
+
+            while (iterator.hasNext()) {
+                Object[] row = iterator.next();
+                if (current != null && !current[0].equals(row[0])) {
+                    sink.accept(toGroupDto(current, studentIds.build()));
+                }
+                current = row;
+                if (row[7] != null) {
+                    studentIds.add((Long) row[7]);
+                }
+            }
+
+            if (current != null) {
+                sink.accept(toGroupDto(current, studentIds.build()));
+            }
+        }
+    }
+
+    private GroupDto toGroupDto(Object[] row, StudentIds studentIds) {
+        return new GroupDto(
+                (Long) row[0],
+                (String) row[1],
+                (String) row[2],
+                (LocalDate) row[3],
+                (LocalDate) row[4],
+                (Integer) row[5],
+                (String) row[6],
+                studentIds,
+                studentIds.size()
+        );
+    }
+
+    private static void validatePage(int offset, int limit) {
+        if (offset < 0) {
+            throw new InvalidPageRequestException("Offset must not be negative");
+        }
+        validateLimit(limit);
+    }
+
+    private static void validateLimit(int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new InvalidPageRequestException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+    }
+
+    // groupId.id for sort=id, groupId.id.lastName.firstName for sort=name, with the names
+    // Base64url-encoded. The group id keeps a cursor from being replayed against another roster.
+    private static String rosterCursor(long groupId, String sort, RosterEntry last) {
+        String cursor = groupId + "." + last.id();
+        if (sort.equals("name")) {
+            Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+            cursor += "." + encoder.encodeToString(last.student().lastName().getBytes(StandardCharsets.UTF_8))
+                    + "." + encoder.encodeToString(last.student().firstName().getBytes(StandardCharsets.UTF_8));
+        }
+        return cursor;
+    }
+
+    private static RosterCursor parseRosterCursor(long groupId, String sort, String cursor) {
+        String[] parts = cursor.split("\\.", -1);
+        int expectedParts = sort.equals("name") ? 4 : 2;
+        try {
+            if (parts.length != expectedParts || Long.parseLong(parts[0]) != groupId) {
+                throw new IllegalArgumentException();
+            }
+            long id = Long.parseLong(parts[1]);
+            if (expectedParts == 2) {
+                return new RosterCursor(id, null, null);
+            }
+            Base64.Decoder decoder = Base64.getUrlDecoder();
+            return new RosterCursor(id,
+                    new String(decoder.decode(parts[2]), StandardCharsets.UTF_8),
+                    new String(decoder.decode(parts[3]), StandardCharsets.UTF_8));
+        } catch (RuntimeException e) {
+            throw new InvalidPageRequestException("Invalid roster cursor: " + cursor);
+        }
+    }
+
+    private static String escapeLikePattern(String keyword) {
+        return keyword.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+
+    private record RosterCursor(long id, String lastName, String firstName) {
+    }
 }
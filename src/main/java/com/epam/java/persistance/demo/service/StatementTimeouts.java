@@ -0,0 +1,29 @@
+package com.epam.java.persistance.demo.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Runs read-only work in its own transaction with a PostgreSQL {@code statement_timeout},
+ * so the server cancels a query once the caller has stopped waiting for it. Being a
+ * public service method, the bulkhead permit is taken before the transaction borrows a
+ * connection.
+ */
+@Component
+@RequiredArgsConstructor
+public class StatementTimeouts {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Transactional(readOnly = true)
+    public <T> T readOnly(Duration timeout, Supplier<T> work) {
+        // SET does not take bind parameters; the value is a number of milliseconds.
+        jdbcTemplate.execute("SET LOCAL statement_timeout = " + Math.max(timeout.toMillis(), 1));
+        return work.get();
+    }
+}
@@ -0,0 +1,10 @@
+package com.epam.java.persistance.demo.service;
+
+import com.epam.java.persistance.demo.domain.StudentImportResult;
+
+import java.io.InputStream;
+
+public interface StudentImportService {
+
+    StudentImportResult importStudents(InputStream csv);
+}
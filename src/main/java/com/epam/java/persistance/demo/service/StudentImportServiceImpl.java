@@ -0,0 +1,105 @@
+package com.epam.java.persistance.demo.service;
+
+import com.epam.java.persistance.demo.domain.StudentImportReject;
+import com.epam.java.persistance.demo.domain.StudentImportResult;
+import lombok.RequiredArgsConstructor;
+import org.postgresql.PGConnection;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class StudentImportServiceImpl implements StudentImportService {
+
+    private static final String CREATE_STAGING_TABLE = """
+            CREATE TEMP TABLE students_import (
+                record_number BIGSERIAL,
+                first_name TEXT,
+                last_name TEXT,
+                email TEXT,
+                age TEXT
+            ) ON COMMIT DROP
+            """;
+
+    private static final String COPY_INTO_STAGING_TABLE =
+            "COPY students_import (first_name, last_name, email, age) FROM STDIN WITH (FORMAT csv, HEADER true)";
+
+    // The first row per email wins inside the file; rows that are invalid, repeat an
+    // email from the file or hit the students.email unique constraint come back as rejects.
+    private static final String MERGE_INTO_STUDENTS = """
+            WITH checked AS (
+                SELECT record_number, first_name, last_name, email, age,
+                       COALESCE(first_name <> '' AND length(first_name) <= 100
+                                AND last_name <> '' AND length(last_name) <= 100
+                                AND email <> '' AND length(email) <= 200
+                                AND age ~ '^[0-9]{1,9}$', false) AS is_valid
+                FROM students_import
+            ), valid AS (
+                SELECT DISTINCT ON (email) record_number, first_name, last_name, email, age::int AS age
+                FROM checked
+                WHERE is_valid
+                ORDER BY email, record_number
+            ), inserted AS (
+                INSERT INTO students (first_name, last_name, email, age)
+                SELECT first_name, last_name, email, age FROM valid ORDER BY record_number
+                ON CONFLICT (email) DO NOTHING
+                RETURNING email
+            )
+            SELECT c.record_number, c.email,
+                   CASE
+                       WHEN NOT c.is_valid THEN 'INVALID'
+                       WHEN v.record_number IS NULL THEN 'DUPLICATE_IN_FILE'
+                       ELSE 'DUPLICATE_EMAIL'
+                   END AS reason
+            FROM checked c
+            LEFT JOIN valid v ON v.record_number = c.record_number
+            LEFT JOIN inserted i ON i.email = v.email
+            WHERE i.email IS NULL
+            ORDER BY c.record_number
+            """;
+
+    private final DataSource dataSource;
+
+    @Override
+    @Transactional
+    public StudentImportResult importStudents(InputStream csv) {
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(CREATE_STAGING_TABLE);
+            }
+
+            long received = connection.unwrap(PGConnection.class)
+                    .getCopyAPI()
+                    .copyIn(COPY_INTO_STAGING_TABLE, csv);
+
+            List<StudentImportReject> rejects = new ArrayList<>();
+            try (Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery(MERGE_INTO_STUDENTS)) {
+                while (resultSet.next()) {
+                    rejects.add(new StudentImportReject(
+                            resultSet.getLong(1),
+                            resultSet.getString(2),
+                            StudentImportReject.Reason.valueOf(resultSet.getString(3))));
+                }
+            }
+
+            return new StudentImportResult(received, received - rejects.size(), rejects);
+        } catch (SQLException | IOException e) {
+            throw new RuntimeException("Student import failed: " + e.getMessage(), e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+}
@@ -1,8 +1,11 @@
 package com.epam.java.persistance.demo.service;
 
+import com.epam.java.persistance.demo.domain.BatchLookup;
 import com.epam.java.persistance.demo.domain.StudentDto;
+import com.epam.java.persistance.demo.domain.StudentPatch;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface StudentService {
 
@@ -10,9 +13,17 @@ public interface StudentService {
 
     StudentDto getStudentById(Long id);
 
+    BatchLookup<StudentDto> getStudentsByIds(List<Long> ids);
+
+    long getStudentVersion(Long id);
+
     StudentDto createStudent(StudentDto studentDto);
 
     StudentDto updateStudent(Long id, StudentDto studentDto);
 
+    StudentDto patchStudent(Long id, StudentPatch patch);
+
     void deleteStudent(Long id);
+
+    void exportStudents(Consumer<StudentDto> sink);
 }
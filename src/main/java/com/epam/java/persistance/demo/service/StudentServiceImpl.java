@@ -1,23 +1,47 @@
 package com.epam.java.persistance.demo.service;
 
+import com.epam.java.persistance.demo.cache.CacheInvalidator;
+import com.epam.java.persistance.demo.config.CacheConfig;
+import com.epam.java.persistance.demo.domain.BatchLookup;
+import com.epam.java.persistance.demo.domain.GroupKey;
 import com.epam.java.persistance.demo.domain.StudentDto;
+import com.epam.java.persistance.demo.domain.StudentPatch;
 import com.epam.java.persistance.demo.entity.Student;
 import com.epam.java.persistance.demo.exception.DuplicateStudentException;
+import com.epam.java.persistance.demo.exception.InvalidBatchLookupException;
 import com.epam.java.persistance.demo.exception.StudentNotFoundException;
 import com.epam.java.persistance.demo.mapper.StudentMapper;
+import com.epam.java.persistance.demo.repository.GroupRepository;
 import com.epam.java.persistance.demo.repository.StudentRepository;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class StudentServiceImpl implements StudentService {
 
+    private static final int MAX_BATCH_SIZE = 10_000;
+    private static final int BATCH_CHUNK_SIZE = 1000;
+
     private final StudentRepository repository;
     private final StudentMapper mapper;
+    private final EntityManager entityManager;
+    private final GroupRepository groupRepository;
+    private final CacheInvalidator cacheInvalidator;
 
     @Override
     public List<StudentDto> getAllStudents() {
@@ -28,12 +52,39 @@ public class StudentServiceImpl implements StudentService {
     }
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.STUDENTS_BY_ID, key = "#id")
     public StudentDto getStudentById(Long id) {
         Student student = repository.findById(id)
                 .orElseThrow(() -> new StudentNotFoundException("Student with ID " + id + " not found"));
         return mapper.toStudentDto(student);
     }
 
+    // One IN query per chunk of ids instead of one findById per student.
+    @Override
+    public BatchLookup<StudentDto> getStudentsByIds(List<Long> ids) {
+        if (ids.size() > MAX_BATCH_SIZE) {
+            throw new InvalidBatchLookupException("At most " + MAX_BATCH_SIZE + " students can be fetched at once");
+        }
+        if (ids.stream().anyMatch(Objects::isNull)) {
+            throw new InvalidBatchLookupException("Student ids must not be null");
+        }
+
+        List<Long> requestedIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        Map<Long, StudentDto> loaded = new HashMap<>();
+        for (int from = 0; from < requestedIds.size(); from += BATCH_CHUNK_SIZE) {
+            List<Long> chunk = requestedIds.subList(from, Math.min(from + BATCH_CHUNK_SIZE, requestedIds.size()));
+            repository.findAllById(chunk)
+                    .forEach(student -> loaded.put(student.getId(), mapper.toStudentDto(student)));
+        }
+        return BatchLookup.of(requestedIds, loaded);
+    }
+
+    @Override
+    public long getStudentVersion(Long id) {
+        return repository.findVersionById(id)
+                .orElseThrow(() -> new StudentNotFoundException("Student with ID " + id + " not found"));
+    }
+
     @Override
     public StudentDto createStudent(StudentDto studentDto) {
         if (repository.existsByEmail(studentDto.email())) {
@@ -45,33 +96,59 @@ public class StudentServiceImpl implements StudentService {
         return mapper.toStudentDto(savedStudent);
     }
 
+    // Request bodies must carry every field (see StudentDto), so the patch sets every column.
     @Override
+    @Transactional
     public StudentDto updateStudent(Long id, StudentDto studentDto) {
-        Student existingStudent = repository.findById(id)
-                .orElseThrow(() -> new StudentNotFoundException("Student with ID " + id + " not found"));
+        return patchStudent(id, new StudentPatch(
+                studentDto.firstName(), studentDto.lastName(), studentDto.email(), studentDto.age()));
+    }
 
-        repository.findByEmail(studentDto.email())
-                .ifPresent(studentWithSameEmail -> {
-                    if (!studentWithSameEmail.getId().equals(id)) {
-                        throw new DuplicateStudentException("A student with email " + studentDto.email() + " already exists");
-                    }
-                });
+    // One UPDATE ... RETURNING; the email unique constraint rejects duplicates, so there is
+    // no separate lookup that a concurrent edit could slip past.
+    @Override
+    @Transactional
+    public StudentDto patchStudent(Long id, StudentPatch patch) {
+        if (patch.isEmpty()) {
+            return getStudentById(id);
+        }
 
-        existingStudent.setFirstName(studentDto.firstName());
-        existingStudent.setLastName(studentDto.lastName());
-        existingStudent.setEmail(studentDto.email());
-        existingStudent.setAge(studentDto.age());
+        StudentDto updated;
+        try {
+            updated = repository.updateStudent(id, patch)
+                    .orElseThrow(() -> new StudentNotFoundException("Student with ID " + id + " not found"));
+        } catch (DuplicateKeyException e) {
+            throw new DuplicateStudentException("A student with email " + patch.email() + " already exists");
+        }
 
-        Student savedStudent = repository.save(existingStudent);
-        return mapper.toStudentDto(savedStudent);
+        cacheInvalidator.evictStudent(id);
+        return updated;
     }
 
+    // Cascading on group_students changes the rosters of every group the student was in. The
+    // row lock blocks concurrent enrollments (their foreign key check needs a share lock on the
+    // student), so the groups found here are exactly the ones the cascade touches.
     @Override
+    @Transactional
     public void deleteStudent(Long id) {
-        if (!repository.existsById(id)) {
-            throw new StudentNotFoundException("Student with ID " + id + " not found");
-        }
+        Student student = repository.lockById(id)
+                .orElseThrow(() -> new StudentNotFoundException("Student with ID " + id + " not found"));
+
+        List<GroupKey> affectedGroups = groupRepository.findKeysByStudentId(id);
+        repository.delete(student);
+
+        cacheInvalidator.evictStudent(id);
+        affectedGroups.forEach(group -> cacheInvalidator.evictGroup(group.id(), group.code()));
+    }
 
-        repository.deleteById(id);
+    @Override
+    @Transactional(readOnly = true)
+    public void exportStudents(Consumer<StudentDto> sink) {
+        try (Stream<Student> students = repository.streamAll()) {
+            students.forEach(student -> {
+                sink.accept(mapper.toStudentDto(student));
+                entityManager.detach(student);
+            });
+        }
     }
 }
@@ -0,0 +1,4 @@
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX idx_groups_name_trgm ON groups USING gin (name gin_trgm_ops);
+CREATE INDEX idx_groups_code_trgm ON groups USING gin (code gin_trgm_ops);
@@ -0,0 +1,43 @@
+ALTER TABLE groups ADD COLUMN enrolled_count INTEGER NOT NULL DEFAULT 0;
+
+UPDATE groups g
+SET enrolled_count = counts.total
+FROM (SELECT group_id, count(*) AS total FROM group_students GROUP BY group_id) counts
+WHERE counts.group_id = g.id;
+
+CREATE FUNCTION groups_sync_enrolled_count() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP IN ('DELETE', 'UPDATE') THEN
+        UPDATE groups g
+        SET enrolled_count = g.enrolled_count - removed.total
+        FROM (SELECT group_id, count(*) AS total FROM old_rows GROUP BY group_id) removed
+        WHERE g.id = removed.group_id;
+    END IF;
+
+    IF TG_OP IN ('INSERT', 'UPDATE') THEN
+        UPDATE groups g
+        SET enrolled_count = g.enrolled_count + added.total
+        FROM (SELECT group_id, count(*) AS total FROM new_rows GROUP BY group_id) added
+        WHERE g.id = added.group_id;
+    END IF;
+
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER group_students_enrolled_count_insert
+    AFTER INSERT ON group_students
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION groups_sync_enrolled_count();
+
+CREATE TRIGGER group_students_enrolled_count_delete
+    AFTER DELETE ON group_students
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION groups_sync_enrolled_count();
+
+CREATE TRIGGER group_students_enrolled_count_update
+    AFTER UPDATE ON group_students
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION groups_sync_enrolled_count();
+
+CREATE INDEX idx_groups_available ON groups (id) WHERE enrolled_count < max_capacity;
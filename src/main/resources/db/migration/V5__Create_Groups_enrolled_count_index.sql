@@ -0,0 +1 @@
+CREATE INDEX idx_groups_enrolled_count ON groups (enrolled_count DESC, id);
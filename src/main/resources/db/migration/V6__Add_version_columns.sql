@@ -0,0 +1,25 @@
+ALTER TABLE groups ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE students ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+-- Roster changes alter a group's representation, so they bump its version alongside the count.
+CREATE OR REPLACE FUNCTION groups_sync_enrolled_count() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP IN ('DELETE', 'UPDATE') THEN
+        UPDATE groups g
+        SET enrolled_count = g.enrolled_count - removed.total,
+            version = g.version + 1
+        FROM (SELECT group_id, count(*) AS total FROM old_rows GROUP BY group_id) removed
+        WHERE g.id = removed.group_id;
+    END IF;
+
+    IF TG_OP IN ('INSERT', 'UPDATE') THEN
+        UPDATE groups g
+        SET enrolled_count = g.enrolled_count + added.total,
+            version = g.version + 1
+        FROM (SELECT group_id, count(*) AS total FROM new_rows GROUP BY group_id) added
+        WHERE g.id = added.group_id;
+    END IF;
+
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
@@ -0,0 +1,97 @@
+package com.epam.java.persistance.demo.bulkhead;
+
+import com.epam.java.persistance.demo.repository.StudentRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.sql.DataSource;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Requests that stay open after their last query must not keep a pooled connection
+ * outside the bulkhead, which is what open-in-view would do.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "app.db.bulkhead.permits=" + BulkheadConnectionTest.PERMITS,
+        "spring.datasource.hikari.maximum-pool-size=10"
+})
+@Import(BulkheadConnectionTest.HeldResponseController.class)
+public class BulkheadConnectionTest {
+
+    static final int PERMITS = 2;
+    private static final int REQUESTS = 8;
+
+    private static final CountDownLatch queried = new CountDownLatch(REQUESTS);
+    private static final CountDownLatch release = new CountDownLatch(1);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @AfterEach
+    void releaseRequests() {
+        release.countDown();
+    }
+
+    @Test
+    void shouldNotHoldConnectionsBeyondPermitsWhileResponsesAreOpen() throws Exception {
+        HikariPoolMXBean pool = dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean();
+        HttpClient client = HttpClient.newHttpClient();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/test/held-response")).build();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<HttpResponse<String>>> responses = new ArrayList<>();
+            for (int i = 0; i < REQUESTS; i++) {
+                responses.add(executor.submit(() -> client.send(request, HttpResponse.BodyHandlers.ofString())));
+            }
+
+            // Every request has run its query and is now parked before writing the response.
+            assertThat(queried.await(10, TimeUnit.SECONDS)).isTrue();
+            assertThat(pool.getActiveConnections()).isLessThanOrEqualTo(PERMITS);
+
+            release.countDown();
+            for (Future<HttpResponse<String>> response : responses) {
+                assertThat(response.get(10, TimeUnit.SECONDS).statusCode()).isEqualTo(200);
+            }
+        }
+    }
+
+    @TestConfiguration
+    @RestController
+    static class HeldResponseController {
+
+        @Autowired
+        private StudentRepository studentRepository;
+
+        @GetMapping("/test/held-response")
+        public long heldResponse() throws InterruptedException {
+            long count = studentRepository.count();
+            queried.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return count;
+        }
+    }
+}
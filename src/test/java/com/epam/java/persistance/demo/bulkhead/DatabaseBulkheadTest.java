@@ -0,0 +1,98 @@
+package com.epam.java.persistance.demo.bulkhead;
+
+import com.epam.java.persistance.demo.exception.BulkheadFullException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class DatabaseBulkheadTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void shouldNeverAdmitMoreCallersThanPermits() throws Throwable {
+        DatabaseBulkhead bulkhead = new DatabaseBulkhead(registry, 3, Duration.ofSeconds(30));
+        AtomicInteger inside = new AtomicInteger();
+        AtomicInteger maxInside = new AtomicInteger();
+        ProceedingJoinPoint joinPoint = mock(ProceedingJoinPoint.class);
+        when(joinPoint.proceed()).thenAnswer(invocation -> {
+            maxInside.accumulateAndGet(inside.incrementAndGet(), Math::max);
+            Thread.sleep(5);
+            inside.decrementAndGet();
+            return null;
+        });
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 200; i++) {
+                executor.submit(guarded(bulkhead, joinPoint));
+            }
+        }
+
+        // Assertions
+        assertThat(maxInside.get()).isEqualTo(3);
+        assertThat(registry.get("app.db.bulkhead.wait").timer().count()).isEqualTo(200);
+        assertThat(registry.get("app.db.bulkhead.available").gauge().value()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldNotTakeSecondPermitForNestedCall() throws Throwable {
+        DatabaseBulkhead bulkhead = new DatabaseBulkhead(registry, 1, Duration.ofMillis(10));
+        ProceedingJoinPoint inner = mock(ProceedingJoinPoint.class);
+        when(inner.proceed()).thenReturn("inner");
+        ProceedingJoinPoint outer = mock(ProceedingJoinPoint.class);
+        when(outer.proceed()).thenAnswer(invocation -> bulkhead.guard(inner));
+
+        assertThat(bulkhead.guard(outer)).isEqualTo("inner");
+    }
+
+    @Test
+    void shouldRejectWhenNoPermitFreesUpInTime() throws Throwable {
+        DatabaseBulkhead bulkhead = new DatabaseBulkhead(registry, 1, Duration.ofMillis(50));
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ProceedingJoinPoint blocking = mock(ProceedingJoinPoint.class);
+        when(blocking.proceed()).thenAnswer(invocation -> {
+            entered.countDown();
+            release.await();
+            return null;
+        });
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> holder = executor.submit(guarded(bulkhead, blocking));
+            assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+
+            assertThatThrownBy(() -> bulkhead.guard(mock(ProceedingJoinPoint.class)))
+                    .isInstanceOf(BulkheadFullException.class);
+
+            release.countDown();
+            holder.get(5, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static Callable<Object> guarded(DatabaseBulkhead bulkhead, ProceedingJoinPoint joinPoint) {
+        return () -> {
+            try {
+                return bulkhead.guard(joinPoint);
+            } catch (Throwable ex) {
+                throw new Exception(ex);
+            }
+        };
+    }
+}
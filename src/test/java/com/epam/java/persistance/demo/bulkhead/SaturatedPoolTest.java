@@ -0,0 +1,137 @@
+package com.epam.java.persistance.demo.bulkhead;
+
+import com.epam.java.persistance.demo.config.CacheConfig;
+import com.epam.java.persistance.demo.domain.GroupSuggestion;
+import com.epam.java.persistance.demo.exception.BulkheadFullException;
+import com.epam.java.persistance.demo.search.GroupAutocompleteIndex;
+import com.epam.java.persistance.demo.service.GroupService;
+import com.epam.java.persistance.demo.service.StatementTimeouts;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Calls that never need the database, autocomplete lookups and cache hits, must keep
+ * working while every permit and every pooled connection is taken.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "app.db.bulkhead.permits=1",
+        "app.db.bulkhead.max-wait=200ms",
+        "spring.datasource.hikari.maximum-pool-size=2",
+        "spring.datasource.hikari.connection-timeout=250"
+})
+public class SaturatedPoolTest {
+
+    @Autowired
+    private GroupService groupService;
+
+    @Autowired
+    private GroupAutocompleteIndex autocompleteIndex;
+
+    @Autowired
+    private StatementTimeouts statementTimeouts;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private final CountDownLatch held = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private ExecutorService executor;
+    private Future<Object> holder;
+    private Connection spare;
+    private String code;
+    private Long groupId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        code = "sat-" + UUID.randomUUID().toString().substring(0, 8);
+        groupId = jdbcTemplate.queryForObject("""
+                INSERT INTO groups (name, code, start_date, end_date, max_capacity)
+                VALUES ('Saturated', ?, CURRENT_DATE, CURRENT_DATE + 30, 10)
+                RETURNING id
+                """, Long.class, code);
+        autocompleteIndex.rebuild();
+        groupService.getGroupById(groupId);
+
+        // Takes the only permit and, through its transaction, one pooled connection;
+        // the other is borrowed directly (Flyway needs two to start up)
+        spare = dataSource.getConnection();
+        executor = Executors.newSingleThreadExecutor();
+        holder = executor.submit(() -> statementTimeouts.readOnly(Duration.ofSeconds(30), () -> {
+            held.countDown();
+            try {
+                return release.await(30, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }));
+        assertThat(held.await(10, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        release.countDown();
+        holder.get(10, TimeUnit.SECONDS);
+        spare.close();
+        executor.shutdown();
+        jdbcTemplate.update("DELETE FROM groups WHERE code = ?", code);
+        cacheManager.getCache(CacheConfig.GROUPS_BY_ID).evict(groupId);
+    }
+
+    @Test
+    void shouldAutocompleteWithoutPermitOrConnection() {
+        HikariPoolMXBean pool = hikariPool();
+        assertThat(pool.getActiveConnections()).isEqualTo(2);
+        assertThatThrownBy(() -> groupService.getGroupsByStudentEmail("nobody@example.com"))
+                .isInstanceOf(BulkheadFullException.class);
+
+        // Assertions
+        assertThat(groupService.autocompleteGroups(code, 10))
+                .extracting(GroupSuggestion::code)
+                .containsExactly(code);
+        assertThat(pool.getActiveConnections()).isEqualTo(2);
+        assertThat(pool.getThreadsAwaitingConnection()).isZero();
+    }
+
+    @Test
+    void shouldServeCacheHitWhileAllPermitsAreHeld() {
+        // Assertions
+        assertThat(groupService.getGroupById(groupId).code()).isEqualTo(code);
+        assertThatThrownBy(() -> groupService.getGroupById(-1L))
+                .isInstanceOf(BulkheadFullException.class);
+    }
+
+    private HikariPoolMXBean hikariPool() {
+        try {
+            return dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
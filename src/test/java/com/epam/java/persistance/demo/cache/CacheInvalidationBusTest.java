@@ -0,0 +1,134 @@
+package com.epam.java.persistance.demo.cache;
+
+import com.epam.java.persistance.demo.DemoApplication;
+import com.epam.java.persistance.demo.config.CacheConfig;
+import com.epam.java.persistance.demo.domain.GroupDto;
+import com.epam.java.persistance.demo.service.GroupService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs two application contexts against the same database, standing in for two nodes
+ * behind a load balancer.
+ */
+public class CacheInvalidationBusTest {
+
+    private static ConfigurableApplicationContext nodeA;
+    private static ConfigurableApplicationContext nodeB;
+
+    @BeforeAll
+    static void startNodes() {
+        nodeA = startNode();
+        nodeB = startNode();
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        if (nodeA != null) {
+            nodeA.close();
+        }
+        if (nodeB != null) {
+            nodeB.close();
+        }
+    }
+
+    @Test
+    void shouldEvictGroupOnOtherNodeAfterUpdate() throws Exception {
+        GroupService serviceA = nodeA.getBean(GroupService.class);
+        GroupService serviceB = nodeB.getBean(GroupService.class);
+        Cache cacheB = nodeB.getBean(CacheManager.class).getCache(CacheConfig.GROUPS_BY_ID);
+
+        String code = "BUS-" + UUID.randomUUID().toString().substring(0, 8);
+        GroupDto created = serviceA.createGroup(new GroupDto(null, "Before", code,
+                LocalDate.now(), LocalDate.now().plusMonths(1), 10, null, null, null));
+
+        try {
+            // Warm the cache on node B
+            assertThat(serviceB.getGroupById(created.id()).name()).isEqualTo("Before");
+            assertThat(cacheB.get(created.id())).isNotNull();
+
+            serviceA.updateGroup(created.id(), new GroupDto(null, "After", code,
+                    created.startDate(), created.endDate(), 10, null, null, null));
+
+            assertThat(awaitEviction(cacheB, created.id())).isTrue();
+            assertThat(serviceB.getGroupById(created.id()).name()).isEqualTo("After");
+        } finally {
+            serviceA.deleteGroup(created.id());
+        }
+    }
+
+    @Test
+    void shouldKeepListeningAfterBadEntryOrFailingListener() throws Exception {
+        DataSourceProperties dataSourceProperties = nodeA.getBean(DataSourceProperties.class);
+        JdbcTemplate jdbcTemplate = nodeA.getBean(JdbcTemplate.class);
+        String channel = "bus_test_" + UUID.randomUUID().toString().substring(0, 8);
+        CacheManager cacheManager = new ConcurrentMapCacheManager("test");
+        Cache cache = cacheManager.getCache("test");
+        AtomicBoolean failed = new AtomicBoolean();
+        CacheInvalidationBus listener = new CacheInvalidationBus(jdbcTemplate, dataSourceProperties, cacheManager,
+                event -> {
+                    if (failed.compareAndSet(false, true)) {
+                        throw new IllegalStateException("listener failure");
+                    }
+                }, channel, 100, true);
+        CacheInvalidationBus sender = new CacheInvalidationBus(jdbcTemplate, dataSourceProperties,
+                new ConcurrentMapCacheManager(), event -> {
+        }, channel, 100, true);
+
+        listener.start();
+        try {
+            cache.put(1L, "one");
+            cache.put(2L, "two");
+            // Repeat until the listener is subscribed; the first event it publishes throws
+            long deadline = System.currentTimeMillis() + 10_000;
+            while (cache.get(1L) != null && System.currentTimeMillis() < deadline) {
+                sender.publish("test", List.of(1L));
+                Thread.sleep(100);
+            }
+            jdbcTemplate.query("SELECT pg_notify(?, ?)", resultSet -> {
+            }, channel, "other-node\ntest|L|not-a-number");
+
+            sender.publish("test", List.of(2L));
+
+            // Assertions
+            assertThat(failed).isTrue();
+            assertThat(awaitEviction(cache, 2L)).isTrue();
+        } finally {
+            listener.stop();
+        }
+    }
+
+    private static boolean awaitEviction(Cache cache, Object key) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (System.currentTimeMillis() < deadline) {
+            if (cache.get(key) == null) {
+                return true;
+            }
+            Thread.sleep(50);
+        }
+        return false;
+    }
+
+    private static ConfigurableApplicationContext startNode() {
+        return new SpringApplicationBuilder(DemoApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("app.cache.invalidation.poll-timeout-ms=100")
+                .run();
+    }
+}
@@ -0,0 +1,172 @@
+package com.epam.java.persistance.demo.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class RequestCoalescerTest {
+
+    private static final int CALLERS = 50;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void shouldShareOneLoadBetweenConcurrentCallers() throws Throwable {
+        RequestCoalescer coalescer = new RequestCoalescer(registry, 100);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+        ProceedingJoinPoint joinPoint = joinPoint(1L);
+        when(joinPoint.proceed()).thenAnswer(invocation -> {
+            loads.incrementAndGet();
+            release.await();
+            return "group-1";
+        });
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<Object>> results = new ArrayList<>();
+            for (int i = 0; i < CALLERS; i++) {
+                results.add(executor.submit(coalesced(coalescer, joinPoint)));
+            }
+            awaitSavedLoads(CALLERS - 1);
+            release.countDown();
+
+            for (Future<Object> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("group-1");
+            }
+        }
+
+        // Assertions
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(registry.get("app.single-flight.in-flight").gauge().value()).isZero();
+    }
+
+    @Test
+    void shouldPropagateLeaderFailureToEveryCaller() throws Throwable {
+        RequestCoalescer coalescer = new RequestCoalescer(registry, 100);
+        CountDownLatch release = new CountDownLatch(1);
+        ProceedingJoinPoint joinPoint = joinPoint(1L);
+        when(joinPoint.proceed()).thenAnswer(invocation -> {
+            release.await();
+            throw new IllegalStateException("Group not found with id: 1");
+        });
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<Object>> results = new ArrayList<>();
+            for (int i = 0; i < CALLERS; i++) {
+                results.add(executor.submit(coalesced(coalescer, joinPoint)));
+            }
+            awaitSavedLoads(CALLERS - 1);
+            release.countDown();
+
+            for (Future<Object> result : results) {
+                assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS))
+                        .isInstanceOf(ExecutionException.class)
+                        .cause().cause()
+                        .isInstanceOf(IllegalStateException.class)
+                        .hasMessage("Group not found with id: 1");
+            }
+        }
+    }
+
+    @Test
+    void shouldRunUncoalescedOnceInFlightLimitIsReached() throws Throwable {
+        RequestCoalescer coalescer = new RequestCoalescer(registry, 1);
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ProceedingJoinPoint blocking = joinPoint(1L);
+        when(blocking.proceed()).thenAnswer(invocation -> {
+            entered.countDown();
+            release.await();
+            return "group-1";
+        });
+        ProceedingJoinPoint other = joinPoint(2L);
+        when(other.proceed()).thenReturn("group-2");
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<Object> holder = executor.submit(coalesced(coalescer, blocking));
+            assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+
+            assertThat(coalescer.coalesce(other, singleFlight())).isEqualTo("group-2");
+            assertThat(registry.get("app.single-flight.in-flight").gauge().value()).isEqualTo(1);
+
+            release.countDown();
+            assertThat(holder.get(5, TimeUnit.SECONDS)).isEqualTo("group-1");
+        }
+    }
+
+    @Test
+    void shouldStartFreshLoadAfterKeyIsForgotten() throws Throwable {
+        RequestCoalescer coalescer = new RequestCoalescer(registry, 100);
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ProceedingJoinPoint stale = joinPoint(1L);
+        when(stale.proceed()).thenAnswer(invocation -> {
+            entered.countDown();
+            release.await();
+            return "before";
+        });
+        ProceedingJoinPoint fresh = joinPoint(1L);
+        when(fresh.proceed()).thenReturn("after");
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<Object> holder = executor.submit(coalesced(coalescer, stale));
+            assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+
+            coalescer.forget("groups", 1L);
+            assertThat(coalescer.coalesce(fresh, singleFlight())).isEqualTo("after");
+
+            release.countDown();
+            assertThat(holder.get(5, TimeUnit.SECONDS)).isEqualTo("before");
+        }
+    }
+
+    private void awaitSavedLoads(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (registry.find("app.single-flight.saved-loads").counters().stream()
+                .mapToDouble(counter -> counter.count()).sum() < expected) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(1);
+        }
+    }
+
+    private static ProceedingJoinPoint joinPoint(Object key) {
+        ProceedingJoinPoint joinPoint = mock(ProceedingJoinPoint.class);
+        when(joinPoint.getArgs()).thenReturn(new Object[]{key});
+        return joinPoint;
+    }
+
+    private static Callable<Object> coalesced(RequestCoalescer coalescer, ProceedingJoinPoint joinPoint) {
+        return () -> {
+            try {
+                return coalescer.coalesce(joinPoint, singleFlight());
+            } catch (Throwable ex) {
+                throw new Exception(ex);
+            }
+        };
+    }
+
+    private static SingleFlight singleFlight() throws NoSuchMethodException {
+        return RequestCoalescerTest.class.getDeclaredMethod("load", Long.class).getAnnotation(SingleFlight.class);
+    }
+
+    @SingleFlight("groups")
+    private static Object load(Long id) {
+        return id;
+    }
+}
@@ -0,0 +1,82 @@
+package com.epam.java.persistance.demo.controller;
+
+import com.epam.java.persistance.demo.domain.GroupDto;
+import com.epam.java.persistance.demo.domain.GroupSummaryDto;
+import com.epam.java.persistance.demo.exception.InvalidPageRequestException;
+import com.epam.java.persistance.demo.service.GroupService;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(GroupController.class)
+public class GroupControllerTest {
+
+    private static final LocalDate START = LocalDate.of(2026, 1, 1);
+    private static final LocalDate END = LocalDate.of(2026, 6, 30);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private GroupService service;
+
+    @Test
+    void shouldReturnFullRowsByDefault() throws Exception {
+        //given & when
+        when(service.getActiveGroups()).thenReturn(List.of(
+                new GroupDto(1L, "Java", "J1", START, END, 10, "Basics", null, 3)));
+
+        //then
+        mockMvc.perform(get("/api/groups/active"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].code", is("J1")))
+                .andExpect(jsonPath("$[0].description", is("Basics")));
+    }
+
+    @Test
+    void shouldReturnSummaryRowsForSummaryView() throws Exception {
+        //given & when
+        when(service.getActiveGroupSummaries()).thenReturn(List.of(
+                new GroupSummaryDto(1L, "Java", "J1", START, END, 10, 3)));
+
+        //then
+        mockMvc.perform(get("/api/groups/active").param("view", "summary"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].currentEnrollment", is(3)))
+                .andExpect(jsonPath("$[0].description").doesNotExist());
+    }
+
+    @Test
+    void shouldReturn400ForUnknownView() throws Exception {
+        //then
+        mockMvc.perform(get("/api/groups/active").param("view", "compact"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("Invalid value for view: compact"));
+        Mockito.verifyNoInteractions(service);
+    }
+
+    @Test
+    void shouldReturn400ForInvalidPageRequest() throws Exception {
+        //given & when
+        when(service.searchGroups("java", "bad", 20))
+                .thenThrow(new InvalidPageRequestException("Invalid search cursor: bad"));
+
+        //then
+        mockMvc.perform(get("/api/groups/search").param("keyword", "java").param("cursor", "bad"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("Invalid search cursor: bad"));
+    }
+}
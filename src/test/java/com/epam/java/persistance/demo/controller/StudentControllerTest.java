@@ -1,8 +1,12 @@
 package com.epam.java.persistance.demo.controller;
 
+import com.epam.java.persistance.demo.domain.BatchLookup;
 import com.epam.java.persistance.demo.domain.StudentDto;
+import com.epam.java.persistance.demo.domain.StudentPatch;
+import com.epam.java.persistance.demo.entity.Student;
 import com.epam.java.persistance.demo.exception.DuplicateStudentException;
 import com.epam.java.persistance.demo.exception.StudentNotFoundException;
+import com.epam.java.persistance.demo.service.StudentImportService;
 import com.epam.java.persistance.demo.service.StudentService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -10,11 +14,13 @@ import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
@@ -32,6 +38,9 @@ public class StudentControllerTest {
     @MockitoBean
     private StudentService service;
 
+    @MockitoBean
+    private StudentImportService importService;
+
     private StudentDto studentDto;
 
     @BeforeEach
@@ -71,6 +80,49 @@ public class StudentControllerTest {
                 .andExpect(jsonPath("$.email", is("john.doe@example.com")));
     }
 
+    @Test
+    void shouldLookUpStudentsInBatch() throws Exception {
+        //given & when
+        when(service.getStudentsByIds(List.of(1L, 2L)))
+                .thenReturn(new BatchLookup<>(Map.of(1L, studentDto), List.of(2L)));
+
+        //then
+        mockMvc.perform(post("/students/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[1, 2]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.found.1.email", is("john.doe@example.com")))
+                .andExpect(jsonPath("$.missing", hasSize(1)))
+                .andExpect(jsonPath("$.missing[0]", is(2)));
+    }
+
+    @Test
+    void shouldReturnETagWithStudent() throws Exception {
+        //given & when
+        when(service.getStudentById(1L)).thenReturn(new StudentDto("John", "Doe", "john.doe@example.com", 20, 3L));
+
+        //then
+        mockMvc.perform(get("/students/1")
+                        .header("If-None-Match", "\"2\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3\""))
+                .andExpect(jsonPath("$.version").doesNotExist());
+    }
+
+    @Test
+    void shouldReturn304WhenStudentVersionMatches() throws Exception {
+        //given & when
+        when(service.getStudentVersion(1L)).thenReturn(3L);
+
+        //then
+        mockMvc.perform(get("/students/1")
+                        .header("If-None-Match", "\"3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"3\""))
+                .andExpect(content().string(""));
+        Mockito.verify(service, Mockito.never()).getStudentById(anyLong());
+    }
+
     @Test
     void shouldReturn404WhenStudentNotFound() throws Exception {
         //given & when
@@ -126,6 +178,58 @@ public class StudentControllerTest {
                 .andExpect(jsonPath("$.email", is("john.doe@example.com")));
     }
 
+    @Test
+    void shouldReturn400WhenPutOmitsAge() throws Exception {
+        //then
+        mockMvc.perform(put("/students/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"firstName\":\"John\", \"lastName\":\"Doe\", \"email\":\"john.doe@example.com\"}"))
+                .andExpect(status().isBadRequest());
+        Mockito.verifyNoInteractions(service);
+    }
+
+    @Test
+    void shouldReturn400WhenPutOmitsOrNullsName() throws Exception {
+        //then
+        mockMvc.perform(put("/students/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"lastName\":\"Doe\", \"email\":\"john.doe@example.com\", \"age\":20}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(put("/students/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"firstName\":null, \"lastName\":\"Doe\", \"email\":\"john.doe@example.com\", \"age\":20}"))
+                .andExpect(status().isBadRequest());
+        Mockito.verifyNoInteractions(service);
+    }
+
+    @Test
+    void shouldReturn409WhenStudentWasModifiedConcurrently() throws Exception {
+        //given & when
+        when(service.updateStudent(anyLong(), any(StudentDto.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Student.class, 1L));
+
+        //then
+        mockMvc.perform(put("/students/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"firstName\":\"John\", \"lastName\":\"Doe\", \"email\":\"john.doe@example.com\", \"age\":20}"))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void shouldPatchStudent() throws Exception {
+        //given & when
+        when(service.patchStudent(1L, new StudentPatch(null, null, null, 21)))
+                .thenReturn(new StudentDto("John", "Doe", "john.doe@example.com", 21));
+
+        //then
+        mockMvc.perform(patch("/students/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"age\":21}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.age", is(21)))
+                .andExpect(jsonPath("$.firstName", is("John")));
+    }
+
     @Test
     void shouldDeleteStudent() throws Exception {
         //given & when
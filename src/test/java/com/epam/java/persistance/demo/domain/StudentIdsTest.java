@@ -0,0 +1,43 @@
+package com.epam.java.persistance.demo.domain;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class StudentIdsTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void shouldSortAndDeduplicateIds() {
+        StudentIds ids = StudentIds.of(5, 1, 3, 1, 5);
+
+        assertThat(ids.toArray()).containsExactly(1, 3, 5);
+        assertThat(ids.size()).isEqualTo(3);
+        assertThat(ids.contains(3)).isTrue();
+        assertThat(ids.contains(4)).isFalse();
+    }
+
+    @Test
+    void shouldRoundTripThroughJson() throws Exception {
+        StudentIds ids = StudentIds.of(3, 1, 2);
+
+        String json = objectMapper.writeValueAsString(ids);
+        StudentIds parsed = objectMapper.readValue(json, StudentIds.class);
+
+        assertThat(json).isEqualTo("[1,2,3]");
+        assertThat(parsed).isEqualTo(ids);
+    }
+
+    @Test
+    void shouldBuildFromUnsortedIds() {
+        StudentIds.Builder builder = StudentIds.builder(2);
+        for (long id : new long[]{42, 7, 42, 13, 7}) {
+            builder.add(id);
+        }
+
+        assertThat(builder.build()).isEqualTo(StudentIds.of(7, 13, 42));
+        assertThat(builder.build()).isEqualTo(StudentIds.empty());
+    }
+}
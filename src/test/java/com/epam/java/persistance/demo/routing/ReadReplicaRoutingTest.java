@@ -0,0 +1,140 @@
+package com.epam.java.persistance.demo.routing;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.postgresql.Driver;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.abort;
+
+/**
+ * Uses a second database on the primary's server as the "replica": nothing is replicated,
+ * but current_database() shows where each transaction was routed. Connection settings are
+ * the application's own (application.yml, overridable through SPRING_DATASOURCE_*); the
+ * test is skipped when that server cannot be reached.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@EnabledIf("primaryReachable")
+public class ReadReplicaRoutingTest {
+
+    private static final String REPLICA = "fundamentals_replica";
+    private static final DataSourceProperties DATASOURCE = dataSourceProperties();
+    private static final Properties URL = Driver.parseURL(DATASOURCE.getUrl(), null);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    static boolean primaryReachable() {
+        try (Connection ignored = connectToPrimary()) {
+            return true;
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    @BeforeAll
+    static void createReplicaDatabase() {
+        try (Connection connection = connectToPrimary();
+             Statement statement = connection.createStatement()) {
+            ResultSet exists = statement.executeQuery("SELECT 1 FROM pg_database WHERE datname = '" + REPLICA + "'");
+            if (!exists.next()) {
+                statement.execute("CREATE DATABASE " + REPLICA);
+            }
+        } catch (SQLException e) {
+            abort("Cannot provide the " + REPLICA + " database: " + e.getMessage());
+        }
+    }
+
+    @DynamicPropertySource
+    static void replicas(DynamicPropertyRegistry registry) {
+        // The first replica is unreachable and has to be skipped.
+        registry.add("app.datasource.replicas[0].url", () -> replicaUrl("1"));
+        registry.add("app.datasource.replicas[1].url", () -> replicaUrl(URL.getProperty("PGPORT")));
+        registry.add("app.datasource.replica-connection-timeout", () -> "250ms");
+        registry.add("app.datasource.read-your-writes-window", () -> "2s");
+    }
+
+    @BeforeEach
+    void setUp() {
+        ReadYourWrites.clear();
+    }
+
+    @Test
+    void shouldRouteReadOnlyTransactionsToReplica() {
+        for (int i = 0; i < 4; i++) {
+            assertThat(currentDatabase(true)).isEqualTo(REPLICA);
+        }
+    }
+
+    @Test
+    void shouldRouteReadWriteTransactionsToPrimary() {
+        assertThat(currentDatabase(false)).isEqualTo(URL.getProperty("PGDBNAME"));
+    }
+
+    @Test
+    void shouldReadOwnWritesFromPrimary() throws Exception {
+        currentDatabase(false);
+
+        assertThat(currentDatabase(true)).isEqualTo(URL.getProperty("PGDBNAME"));
+
+        Thread.sleep(2_100);
+        assertThat(currentDatabase(true)).isEqualTo(REPLICA);
+    }
+
+    private String currentDatabase(boolean readOnly) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(readOnly);
+        return transaction.execute(status ->
+                jdbcTemplate.queryForObject("SELECT current_database()", String.class));
+    }
+
+    private static Connection connectToPrimary() throws SQLException {
+        Properties info = new Properties();
+        info.setProperty("user", DATASOURCE.getUsername());
+        info.setProperty("password", DATASOURCE.getPassword());
+        info.setProperty("loginTimeout", "2");
+        return DriverManager.getConnection(DATASOURCE.getUrl(), info);
+    }
+
+    private static String replicaUrl(String port) {
+        return "jdbc:postgresql://" + URL.getProperty("PGHOST").split(",")[0] + ":" + port + "/" + REPLICA;
+    }
+
+    // Resolved the way the application resolves them, before any Spring context exists.
+    private static DataSourceProperties dataSourceProperties() {
+        StandardEnvironment environment = new StandardEnvironment();
+        try {
+            new YamlPropertySourceLoader().load("application.yml", new ClassPathResource("application.yml"))
+                    .forEach(environment.getPropertySources()::addLast);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return Binder.get(environment).bindOrCreate("spring.datasource", DataSourceProperties.class);
+    }
+}
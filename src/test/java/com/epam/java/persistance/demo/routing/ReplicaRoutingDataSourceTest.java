@@ -0,0 +1,27 @@
+package com.epam.java.persistance.demo.routing;
+
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+public class ReplicaRoutingDataSourceTest {
+
+    @Test
+    void shouldSendExplicitCredentialsToPrimary() throws Exception {
+        DataSource primary = mock(DataSource.class);
+        DataSource replica = mock(DataSource.class);
+        Connection connection = mock(Connection.class);
+        when(primary.getConnection("user", "secret")).thenReturn(connection);
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, List.of(replica), 1_000, 1_000);
+
+        assertThat(routing.getConnection("user", "secret")).isSameAs(connection);
+        verifyNoInteractions(replica);
+    }
+}
@@ -0,0 +1,180 @@
+package com.epam.java.persistance.demo.search;
+
+import com.epam.java.persistance.demo.cache.CacheInvalidationBus;
+import com.epam.java.persistance.demo.cache.RemoteEvictionEvent;
+import com.epam.java.persistance.demo.cache.RemoteResetEvent;
+import com.epam.java.persistance.demo.config.CacheConfig;
+import com.epam.java.persistance.demo.domain.GroupSuggestion;
+import com.epam.java.persistance.demo.repository.GroupRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class GroupAutocompleteIndexTest {
+
+    @Mock
+    private GroupRepository groupRepository;
+
+    @Mock
+    private CacheInvalidationBus invalidationBus;
+
+    @InjectMocks
+    private GroupAutocompleteIndex index;
+
+    @AfterEach
+    void tearDown() {
+        index.shutdown();
+    }
+
+    @Test
+    void shouldMatchOnlyTermsWithinPrefixRange() {
+        index.upsert(new GroupSuggestion(1L, "AB", "One"));
+        index.upsert(new GroupSuggestion(2L, "ABZ", "Two"));
+        index.upsert(new GroupSuggestion(3L, "AB\uFFFE", "Three"));
+        index.upsert(new GroupSuggestion(4L, "AA", "Four"));
+        index.upsert(new GroupSuggestion(5L, "AC", "Five"));
+
+        // Assertions
+        assertThat(ids(index.suggest("ab", 10))).containsExactly(1L, 2L, 3L);
+        assertThat(ids(index.suggest("  Ab ", 10))).containsExactly(1L, 2L, 3L);
+        assertThat(index.suggest("abc", 10)).isEmpty();
+        assertThat(index.suggest(" ", 10)).isEmpty();
+    }
+
+    @Test
+    void shouldMatchNamesFromTheStartOfEveryWord() {
+        index.upsert(new GroupSuggestion(1L, "G1", "Intro to Java-Script"));
+
+        // Assertions
+        assertThat(ids(index.suggest("intro", 10))).containsExactly(1L);
+        assertThat(ids(index.suggest("to j", 10))).containsExactly(1L);
+        assertThat(ids(index.suggest("java", 10))).containsExactly(1L);
+        assertThat(ids(index.suggest("script", 10))).containsExactly(1L);
+        assertThat(index.suggest("ava", 10)).isEmpty();
+        assertThat(index.suggest("ntro", 10)).isEmpty();
+    }
+
+    @Test
+    void shouldRankCodeMatchesFirstAndHonourLimit() {
+        index.upsert(new GroupSuggestion(1L, "X1", "Java basics"));
+        index.upsert(new GroupSuggestion(2L, "JAVA-2", "Advanced"));
+        index.upsert(new GroupSuggestion(3L, "X3", "Java streams"));
+        index.upsert(new GroupSuggestion(4L, "JAVA-4", "Java in depth"));
+
+        // Assertions
+        assertThat(ids(index.suggest("java", 10))).containsExactly(2L, 4L, 1L, 3L);
+        assertThat(ids(index.suggest("java", 3))).containsExactly(2L, 4L, 1L);
+        assertThat(index.suggest("java", 0)).isEmpty();
+    }
+
+    @Test
+    void shouldReplaceTermsOnUpsertAndDropThemOnRemove() {
+        index.upsert(new GroupSuggestion(1L, "OLD", "Old name"));
+        index.upsert(new GroupSuggestion(1L, "NEW", "New name"));
+
+        // Assertions
+        assertThat(index.suggest("old", 10)).isEmpty();
+        assertThat(ids(index.suggest("new", 10))).containsExactly(1L);
+        assertThat(ids(index.suggest("name", 10))).containsExactly(1L);
+
+        index.remove(1L);
+        assertThat(index.suggest("new", 10)).isEmpty();
+        assertThat(index.suggest("name", 10)).isEmpty();
+        verify(invalidationBus, times(3)).publish(eq(GroupAutocompleteIndex.SUGGESTIONS), eq(List.of(1L)));
+    }
+
+    @Test
+    void shouldKeepChangesMadeWhileRebuildReadsItsSnapshot() {
+        index.upsert(new GroupSuggestion(9L, "GONE", "Deleted meanwhile"));
+        when(groupRepository.findAllSuggestions()).thenAnswer(invocation -> {
+            // Writes committing after the snapshot was taken
+            index.upsert(new GroupSuggestion(2L, "FRESH", "Created meanwhile"));
+            index.upsert(new GroupSuggestion(1L, "RENAMED", "Renamed meanwhile"));
+            index.remove(3L);
+            return List.of(
+                    new GroupSuggestion(1L, "STALE", "Stale name"),
+                    new GroupSuggestion(3L, "DOOMED", "Deleted meanwhile"),
+                    new GroupSuggestion(4L, "KEPT", "Untouched"));
+        });
+
+        index.rebuild();
+
+        // Assertions
+        assertThat(ids(index.suggest("fresh", 10))).containsExactly(2L);
+        assertThat(ids(index.suggest("renamed", 10))).containsExactly(1L);
+        assertThat(index.suggest("stale", 10)).isEmpty();
+        assertThat(index.suggest("doomed", 10)).isEmpty();
+        assertThat(ids(index.suggest("kept", 10))).containsExactly(4L);
+        assertThat(index.suggest("gone", 10)).isEmpty();
+    }
+
+    @Test
+    void shouldRefreshFromDatabaseOnlyForRemoteSuggestionChanges() {
+        when(groupRepository.findSuggestionById(1L)).thenReturn(Optional.of(new GroupSuggestion(1L, "REMOTE", "Remote")));
+
+        index.onRemoteEviction(new RemoteEvictionEvent(CacheConfig.GROUPS_BY_ID, 1L));
+        index.onRemoteEviction(new RemoteEvictionEvent(GroupAutocompleteIndex.SUGGESTIONS, 1L));
+
+        // Assertions
+        verify(groupRepository, timeout(5_000)).findSuggestionById(1L);
+        awaitSuggestions("remote", 1L);
+        verify(groupRepository, times(1)).findSuggestionById(1L);
+    }
+
+    @Test
+    void shouldNotBlockListenerThreadWhileRefreshing() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(groupRepository.findSuggestionById(1L)).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return Optional.of(new GroupSuggestion(1L, "SLOW", "Slow read"));
+        });
+
+        index.onRemoteEviction(new RemoteEvictionEvent(GroupAutocompleteIndex.SUGGESTIONS, 1L));
+        verify(groupRepository, timeout(5_000)).findSuggestionById(1L);
+        index.onRemoteEviction(new RemoteEvictionEvent(GroupAutocompleteIndex.SUGGESTIONS, 1L));
+        index.onRemoteEviction(new RemoteEvictionEvent(GroupAutocompleteIndex.SUGGESTIONS, 1L));
+
+        // Assertions: the events returned while the first read is still blocked
+        assertThat(index.suggest("slow", 10)).isEmpty();
+        release.countDown();
+        awaitSuggestions("slow", 1L);
+        // Announcements during the read queue exactly one more
+        verify(groupRepository, timeout(5_000).times(2)).findSuggestionById(1L);
+        Thread.sleep(100);
+        verify(groupRepository, times(2)).findSuggestionById(1L);
+    }
+
+    @Test
+    void shouldRebuildAfterListenerReconnects() {
+        when(groupRepository.findAllSuggestions()).thenReturn(List.of(new GroupSuggestion(5L, "MISSED", "Missed change")));
+
+        index.onRemoteReset(new RemoteResetEvent());
+
+        // Assertions
+        awaitSuggestions("missed", 5L);
+    }
+
+    private void awaitSuggestions(String prefix, Long... expected) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!ids(index.suggest(prefix, 10)).equals(List.of(expected)) && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertThat(ids(index.suggest(prefix, 10))).containsExactly(expected);
+    }
+
+    private static List<Long> ids(List<GroupSuggestion> suggestions) {
+        return suggestions.stream().map(GroupSuggestion::id).toList();
+    }
+}
@@ -0,0 +1,169 @@
+package com.epam.java.persistance.demo.service;
+
+import com.epam.java.persistance.demo.bulkhead.DatabaseBulkhead;
+import com.epam.java.persistance.demo.domain.DashboardDto;
+import com.epam.java.persistance.demo.domain.EnrollmentBucket;
+import com.epam.java.persistance.demo.repository.CapacityCounts;
+import com.epam.java.persistance.demo.repository.DashboardTotals;
+import com.epam.java.persistance.demo.repository.EnrollmentBucketCount;
+import com.epam.java.persistance.demo.repository.GroupRepository;
+import com.epam.java.persistance.demo.repository.StudentRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatcher;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.stubbing.Answer;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class DashboardServiceTest {
+
+    private static final long QUERY_MILLIS = 300;
+
+    @Mock
+    private GroupRepository groupRepository;
+
+    @Mock
+    private StudentRepository studentRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private final DatabaseBulkhead bulkhead = new DatabaseBulkhead(new SimpleMeterRegistry(), 10, Duration.ofSeconds(30));
+
+    private DashboardServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor();
+        executor.setVirtualThreads(true);
+        service = new DashboardServiceImpl(groupRepository, studentRepository, new StatementTimeouts(jdbcTemplate),
+                bulkhead, executor, Duration.ofSeconds(2), 0.9);
+    }
+
+    @Test
+    void shouldRunPartsInParallel() {
+        DashboardTotals totals = mock(DashboardTotals.class);
+        when(totals.getGroups()).thenReturn(3L);
+        when(totals.getStudents()).thenReturn(20L);
+        when(totals.getEnrollments()).thenReturn(12L);
+        CapacityCounts capacity = mock(CapacityCounts.class);
+        when(capacity.getNearCapacity()).thenReturn(1L);
+        when(capacity.getFull()).thenReturn(1L);
+        EnrollmentBucketCount bucket = mock(EnrollmentBucketCount.class);
+        when(bucket.getBucket()).thenReturn(3);
+        when(bucket.getGroups()).thenReturn(2L);
+
+        when(groupRepository.countTotals()).thenAnswer(slow(totals));
+        when(groupRepository.countActive(any())).thenAnswer(slow(2L));
+        when(groupRepository.countByCapacity(anyDouble())).thenAnswer(slow(capacity));
+        when(groupRepository.countByEnrollmentBucket(anyInt())).thenAnswer(slow(List.of(bucket)));
+        when(studentRepository.averageAge()).thenAnswer(slow(21.5));
+
+        long start = System.nanoTime();
+        DashboardDto dashboard = service.getDashboard();
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        // Assertions
+        assertThat(elapsedMillis).isLessThan(QUERY_MILLIS * 3);
+        assertThat(dashboard.totalGroups()).isEqualTo(3L);
+        assertThat(dashboard.totalStudents()).isEqualTo(20L);
+        assertThat(dashboard.totalEnrollments()).isEqualTo(12L);
+        assertThat(dashboard.activeGroups()).isEqualTo(2L);
+        assertThat(dashboard.groupsNearCapacity()).isEqualTo(1L);
+        assertThat(dashboard.fullGroups()).isEqualTo(1L);
+        assertThat(dashboard.enrollmentDistribution()).containsExactly(
+                new EnrollmentBucket(0, 25, 0),
+                new EnrollmentBucket(25, 50, 0),
+                new EnrollmentBucket(50, 75, 0),
+                new EnrollmentBucket(75, 100, 2));
+        assertThat(dashboard.averageAge()).isEqualTo(21.5);
+        assertThat(dashboard.unavailable()).isEmpty();
+        verify(jdbcTemplate, times(5)).execute(argThat(statementTimeoutWithin(2000)));
+    }
+
+    @Test
+    void shouldReportPartsThatTimeOutOrFail() {
+        service = new DashboardServiceImpl(groupRepository, studentRepository, new StatementTimeouts(jdbcTemplate),
+                bulkhead, new SimpleAsyncTaskExecutor(), Duration.ofMillis(100), 0.9);
+        when(groupRepository.countTotals()).thenThrow(new RuntimeException("boom"));
+        when(groupRepository.countActive(any())).thenReturn(2L);
+        when(groupRepository.countByCapacity(anyDouble())).thenAnswer(slow(mock(CapacityCounts.class)));
+        when(groupRepository.countByEnrollmentBucket(anyInt())).thenReturn(List.of());
+        when(studentRepository.averageAge()).thenReturn(null);
+
+        DashboardDto dashboard = service.getDashboard();
+
+        // Assertions
+        assertThat(dashboard.totalGroups()).isNull();
+        assertThat(dashboard.activeGroups()).isEqualTo(2L);
+        assertThat(dashboard.groupsNearCapacity()).isNull();
+        assertThat(dashboard.enrollmentDistribution()).hasSize(4);
+        assertThat(dashboard.unavailable()).containsExactly("totals", "capacity");
+        verify(jdbcTemplate, times(5)).execute(argThat(statementTimeoutWithin(100)));
+    }
+
+    @Test
+    void shouldNotQueryOncePartTimedOutWaitingForPermit() throws Exception {
+        DatabaseBulkhead busy = new DatabaseBulkhead(new SimpleMeterRegistry(), 1, Duration.ofSeconds(30));
+        service = new DashboardServiceImpl(groupRepository, studentRepository, new StatementTimeouts(jdbcTemplate),
+                busy, new SimpleAsyncTaskExecutor(), Duration.ofMillis(100), 0.9);
+        CountDownLatch held = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread holder = Thread.ofVirtual().start(() -> busy.withPermit(Duration.ZERO, () -> {
+            held.countDown();
+            try {
+                return release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        }));
+        assertThat(held.await(5, TimeUnit.SECONDS)).isTrue();
+
+        long start = System.nanoTime();
+        DashboardDto dashboard = service.getDashboard();
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        release.countDown();
+        holder.join();
+        // Parts that were still queued behind the permit must give up rather than run late
+        Thread.sleep(200);
+
+        // Assertions
+        assertThat(elapsedMillis).isLessThan(1_000);
+        assertThat(dashboard.unavailable()).hasSize(5);
+        verifyNoInteractions(groupRepository, studentRepository, jdbcTemplate);
+    }
+
+    private static ArgumentMatcher<String> statementTimeoutWithin(long millis) {
+        return sql -> {
+            String prefix = "SET LOCAL statement_timeout = ";
+            if (!sql.startsWith(prefix)) {
+                return false;
+            }
+            long value = Long.parseLong(sql.substring(prefix.length()));
+            return value > 0 && value <= millis;
+        };
+    }
+
+    private static <T> Answer<T> slow(T result) {
+        return invocation -> {
+            Thread.sleep(QUERY_MILLIS);
+            return result;
+        };
+    }
+}
@@ -0,0 +1,192 @@
+package com.epam.java.persistance.demo.service;
+
+import com.epam.java.persistance.demo.domain.EnrollmentOutcome;
+import com.epam.java.persistance.demo.domain.GroupDto;
+import com.epam.java.persistance.demo.domain.StudentIds;
+import com.epam.java.persistance.demo.entity.Group;
+import com.epam.java.persistance.demo.entity.Student;
+import com.epam.java.persistance.demo.repository.GroupRepository;
+import com.epam.java.persistance.demo.repository.StudentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+public class GroupEnrollmentConcurrencyTest {
+
+    private static final int CAPACITY = 5;
+    private static final int CONCURRENT_ENROLLMENTS = 40;
+
+    @Autowired
+    private GroupService groupService;
+
+    @Autowired
+    private GroupRepository groupRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Group group;
+    private List<Student> students;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+
+        Group newGroup = new Group();
+        newGroup.setName("Concurrency " + suffix);
+        newGroup.setCode("CONC-" + suffix);
+        newGroup.setStartDate(LocalDate.now());
+        newGroup.setEndDate(LocalDate.now().plusMonths(1));
+        newGroup.setMaxCapacity(CAPACITY);
+        group = groupRepository.save(newGroup);
+
+        students = new ArrayList<>();
+        for (int i = 0; i < CONCURRENT_ENROLLMENTS; i++) {
+            students.add(studentRepository.save(
+                    new Student(null, "First" + i, "Last" + i, "conc-" + suffix + "-" + i + "@example.com", 20)));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        groupRepository.deleteById(group.getId());
+        studentRepository.deleteAll(students);
+    }
+
+    @Test
+    void shouldReportRepeatedIdsInBatchAsDuplicates() {
+        Long first = students.get(0).getId();
+        Long second = students.get(1).getId();
+        groupService.addStudentToGroup(group.getId(), second);
+
+        List<EnrollmentOutcome> outcomes = groupService.addStudentsToGroup(
+                group.getId(), List.of(first, second, first, second, first));
+
+        // Assertions
+        assertThat(outcomes).extracting(EnrollmentOutcome::status).containsExactly(
+                EnrollmentOutcome.Status.ENROLLED,
+                EnrollmentOutcome.Status.ALREADY_ENROLLED,
+                EnrollmentOutcome.Status.DUPLICATE_IN_REQUEST,
+                EnrollmentOutcome.Status.DUPLICATE_IN_REQUEST,
+                EnrollmentOutcome.Status.DUPLICATE_IN_REQUEST);
+        assertThat(groupRepository.countEnrolledStudents(group.getId())).isEqualTo(2);
+    }
+
+    @Test
+    void shouldNeverEnrollMoreStudentsThanCapacity() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENT_ENROLLMENTS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+
+        try {
+            for (Student student : students) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        groupService.addStudentToGroup(group.getId(), student.getId());
+                        return true;
+                    } catch (RuntimeException e) {
+                        return false;
+                    }
+                }));
+            }
+            start.countDown();
+
+            int enrolled = 0;
+            for (Future<Boolean> result : results) {
+                if (result.get(30, TimeUnit.SECONDS)) {
+                    enrolled++;
+                }
+            }
+
+            // Assertions
+            assertThat(enrolled).isEqualTo(CAPACITY);
+            assertThat(groupRepository.countEnrolledStudents(group.getId())).isEqualTo(CAPACITY);
+            assertThat(groupRepository.findById(group.getId()).orElseThrow().getEnrolledCount()).isEqualTo(CAPACITY);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldUpdateGroupWhileEnrollmentWaitsForIt() throws Exception {
+        Long studentId = students.get(0).getId();
+        GroupDto renamed = new GroupDto(null, "Renamed", group.getCode(), group.getStartDate(), group.getEndDate(),
+                CAPACITY, null, null, null);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try {
+            Future<GroupDto> enrollment = transactionTemplate.execute(status -> {
+                groupService.updateGroup(group.getId(), renamed);
+                Future<GroupDto> pending = executor.submit(() -> groupService.addStudentToGroup(group.getId(), studentId));
+                // The enrollment would bump the version under the update; it has to wait instead
+                assertThatThrownBy(() -> pending.get(300, TimeUnit.MILLISECONDS)).isInstanceOf(TimeoutException.class);
+                return pending;
+            });
+
+            // Assertions
+            GroupDto enrolled = enrollment.get(10, TimeUnit.SECONDS);
+            assertThat(enrolled.name()).isEqualTo("Renamed");
+            assertThat(enrolled.studentIds()).isEqualTo(StudentIds.of(studentId));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldDeleteGroupWhileEnrollmentWaitsForIt() throws Exception {
+        Long studentId = students.get(0).getId();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try {
+            Future<GroupDto> enrollment = transactionTemplate.execute(status -> {
+                groupService.deleteGroup(group.getId());
+                Future<GroupDto> pending = executor.submit(() -> groupService.addStudentToGroup(group.getId(), studentId));
+                assertThatThrownBy(() -> pending.get(300, TimeUnit.MILLISECONDS)).isInstanceOf(TimeoutException.class);
+                return pending;
+            });
+
+            // Assertions
+            assertThatThrownBy(() -> enrollment.get(10, TimeUnit.SECONDS))
+                    .hasRootCauseMessage("Group not found with id: " + group.getId());
+            assertThat(groupRepository.existsById(group.getId())).isFalse();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldReturnVersionWrittenByEnrollmentTriggers() {
+        Long studentId = students.get(0).getId();
+
+        GroupDto enrolled = groupService.addStudentToGroup(group.getId(), studentId);
+        long afterEnrollment = groupService.getGroupVersion(group.getId());
+        GroupDto removed = groupService.removeStudentFromGroup(group.getId(), studentId);
+
+        // Assertions
+        assertThat(enrolled.version()).isEqualTo(afterEnrollment);
+        assertThat(removed.version()).isEqualTo(groupService.getGroupVersion(group.getId()));
+        assertThat(removed.version()).isGreaterThan(afterEnrollment);
+    }
+}
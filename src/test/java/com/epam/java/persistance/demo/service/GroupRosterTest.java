@@ -0,0 +1,145 @@
+package com.epam.java.persistance.demo.service;
+
+import com.epam.java.persistance.demo.domain.RosterPage;
+import com.epam.java.persistance.demo.domain.StudentDto;
+import com.epam.java.persistance.demo.exception.InvalidPageRequestException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+public class GroupRosterTest {
+
+    @Autowired
+    private GroupService groupService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String prefix;
+    private int groups;
+    private int students;
+
+    @BeforeEach
+    void setUp() {
+        prefix = "roster-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM groups WHERE code LIKE ?", prefix + "-%");
+        jdbcTemplate.update("DELETE FROM students WHERE email LIKE ?", prefix + "-%");
+    }
+
+    @Test
+    void shouldPageByNameWithoutGapsOrRepeats() {
+        Long groupId = group();
+        // Repeated names fall back to id order; separators in names must survive the cursor
+        List<String> expected = List.of(
+                enroll(groupId, "Ann", "Adams"),
+                enroll(groupId, "Ann", "Adams"),
+                enroll(groupId, "Bob", "Brown.Jr"),
+                enroll(groupId, "Cy|d", "Brown.Jr"),
+                enroll(groupId, "Dee", "Clark"));
+
+        List<String> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            RosterPage page = groupService.getGroupRoster(groupId, cursor, 2, "name");
+            page.students().forEach(student -> seen.add(student.email()));
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        // Assertions
+        assertThat(seen).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void shouldContinueAfterRenamedOrDeletedAnchor() {
+        Long groupId = group();
+        String adams = enroll(groupId, "Ann", "Adams");
+        String brown = enroll(groupId, "Bob", "Brown");
+        String clark = enroll(groupId, "Cy", "Clark");
+        String davis = enroll(groupId, "Dee", "Davis");
+        String evans = enroll(groupId, "Eve", "Evans");
+
+        RosterPage first = groupService.getGroupRoster(groupId, null, 2, "name");
+        jdbcTemplate.update("UPDATE students SET last_name = 'Zimmer' WHERE email = ?", brown);
+        RosterPage second = groupService.getGroupRoster(groupId, first.nextCursor(), 2, "name");
+        jdbcTemplate.update("DELETE FROM students WHERE email = ?", davis);
+        RosterPage third = groupService.getGroupRoster(groupId, second.nextCursor(), 2, "name");
+
+        // The renamed anchor moves to the end; the pages in between are neither skipped nor repeated
+        assertThat(emails(first)).containsExactly(adams, brown);
+        assertThat(emails(second)).containsExactly(clark, davis);
+        assertThat(emails(third)).containsExactly(evans, brown);
+    }
+
+    @Test
+    void shouldRejectCursorOfAnotherGroup() {
+        Long groupId = group();
+        Long otherGroupId = group();
+        enroll(groupId, "Ann", "Adams");
+        enroll(groupId, "Bob", "Brown");
+        enroll(otherGroupId, "Cy", "Clark");
+        String cursor = groupService.getGroupRoster(groupId, null, 1, "name").nextCursor();
+
+        // Assertions
+        assertThatThrownBy(() -> groupService.getGroupRoster(otherGroupId, cursor, 1, "name"))
+                .isInstanceOf(InvalidPageRequestException.class)
+                .hasMessage("Invalid roster cursor: " + cursor);
+    }
+
+    @Test
+    void shouldRejectMalformedCursor() {
+        Long groupId = group();
+        String idCursor = groupId + ".1";
+
+        // Assertions
+        assertThatThrownBy(() -> groupService.getGroupRoster(groupId, "not-a-cursor", 10, "id"))
+                .isInstanceOf(InvalidPageRequestException.class)
+                .hasMessage("Invalid roster cursor: not-a-cursor");
+        assertThatThrownBy(() -> groupService.getGroupRoster(groupId, idCursor, 10, "name"))
+                .isInstanceOf(InvalidPageRequestException.class)
+                .hasMessage("Invalid roster cursor: " + idCursor);
+        assertThatThrownBy(() -> groupService.getGroupRoster(groupId, idCursor + ".!!.!!", 10, "name"))
+                .isInstanceOf(InvalidPageRequestException.class)
+                .hasMessage("Invalid roster cursor: " + idCursor + ".!!.!!");
+    }
+
+    private Long group() {
+        return jdbcTemplate.queryForObject("""
+                INSERT INTO groups (name, code, start_date, end_date, max_capacity)
+                VALUES ('Roster', ?, CURRENT_DATE, CURRENT_DATE + 30, 10)
+                RETURNING id
+                """, Long.class, prefix + "-" + groups++);
+    }
+
+    private String enroll(Long groupId, String firstName, String lastName) {
+        String email = prefix + "-" + students++ + "@example.com";
+        jdbcTemplate.update("""
+                WITH student AS (
+                    INSERT INTO students (first_name, last_name, email, age)
+                    VALUES (?, ?, ?, 20)
+                    RETURNING id
+                )
+                INSERT INTO group_students (group_id, student_id)
+                SELECT ?, id FROM student
+                """, firstName, lastName, email, groupId);
+        return email;
+    }
+
+    private static List<String> emails(RosterPage page) {
+        return page.students().stream().map(StudentDto::email).toList();
+    }
+}
@@ -0,0 +1,127 @@
+package com.epam.java.persistance.demo.service;
+
+import com.epam.java.persistance.demo.domain.GroupSearchPage;
+import com.epam.java.persistance.demo.domain.GroupSummaryDto;
+import com.epam.java.persistance.demo.exception.InvalidPageRequestException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+public class GroupSearchTest {
+
+    @Autowired
+    private GroupService groupService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String prefix;
+    private String token;
+    private int groups;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        prefix = "search-" + suffix;
+        // Letters only, so the token is distinctive for both ILIKE and trigram similarity
+        token = "zq" + suffix.replaceAll("[^a-f]", "x");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM groups WHERE code LIKE ?", prefix + "-%");
+    }
+
+    @Test
+    void shouldRankCloserMatchesFirst() {
+        Long exact = group(token);
+        Long close = group(token + " course");
+        Long distant = group("introduction to the " + token + " programming language course");
+
+        GroupSearchPage page = groupService.searchGroups(token, null, 10);
+
+        // Assertions
+        assertThat(page.groups()).extracting(GroupSummaryDto::id).containsExactly(exact, close, distant);
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    @Test
+    void shouldPageThroughTiedScoresWithoutGapsOrRepeats() {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            ids.add(group(token + " evening"));
+        }
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            GroupSearchPage page = groupService.searchGroups(token, cursor, 3);
+            page.groups().forEach(group -> seen.add(group.id()));
+            cursor = page.nextCursor();
+            pages++;
+        } while (cursor != null);
+
+        // Equal scores fall back to id order, so the walk returns every group exactly once
+        assertThat(seen).containsExactlyElementsOf(ids);
+        assertThat(pages).isEqualTo(3);
+    }
+
+    @Test
+    void shouldMatchLikeWildcardsLiterally() {
+        Long percent = group(token + " 50% off");
+        group(token + " 500 off");
+        Long underscore = group(token + " a_b");
+        group(token + " axb");
+        Long backslash = group(token + " c\\d");
+        group(token + " cd");
+
+        // Assertions
+        assertThat(ids(groupService.searchGroups(token + " 50%", null, 10))).containsExactly(percent);
+        assertThat(ids(groupService.searchGroups(token + " a_b", null, 10))).containsExactly(underscore);
+        assertThat(ids(groupService.searchGroups(token + " c\\d", null, 10))).containsExactly(backslash);
+    }
+
+    @Test
+    void shouldRejectInvalidCursor() {
+        assertThatThrownBy(() -> groupService.searchGroups(token, "not-a-cursor", 10))
+                .isInstanceOf(InvalidPageRequestException.class)
+                .hasMessage("Invalid search cursor: not-a-cursor");
+        assertThatThrownBy(() -> groupService.searchGroups(token, "0.5", 10))
+                .isInstanceOf(InvalidPageRequestException.class)
+                .hasMessage("Invalid search cursor: 0.5");
+    }
+
+    @Test
+    void shouldRejectLimitOutOfRange() {
+        assertThatThrownBy(() -> groupService.searchGroups(token, null, 0))
+                .isInstanceOf(InvalidPageRequestException.class)
+                .hasMessage("Limit must be between 1 and 500");
+        assertThatThrownBy(() -> groupService.getAllGroups(null, 501))
+                .isInstanceOf(InvalidPageRequestException.class)
+                .hasMessage("Limit must be between 1 and 500");
+    }
+
+    private Long group(String name) {
+        return jdbcTemplate.queryForObject("""
+                INSERT INTO groups (name, code, start_date, end_date, max_capacity)
+                VALUES (?, ?, CURRENT_DATE, CURRENT_DATE + 30, 10)
+                RETURNING id
+                """, Long.class, name, prefix + "-" + groups++);
+    }
+
+    private static List<Long> ids(GroupSearchPage page) {
+        return page.groups().stream().map(GroupSummaryDto::id).toList();
+    }
+}
@@ -0,0 +1,441 @@
+package com.epam.java.persistance.demo.service;
+
+import com.epam.java.persistance.demo.domain.BatchLookup;
+import com.epam.java.persistance.demo.domain.GroupDto;
+import com.epam.java.persistance.demo.domain.RosterPage;
+import com.epam.java.persistance.demo.domain.StudentDto;
+import com.epam.java.persistance.demo.domain.StudentPatch;
+import com.epam.java.persistance.demo.exception.InvalidBatchLookupException;
+import com.epam.java.persistance.demo.support.SqlStatementRecorder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Pins the number of SQL statements each service method issues. Every test runs against
+ * fixtures of 1, 10 and 1000 rows with the same budget, so a change that starts loading
+ * rows one by one fails here instead of in production.
+ * <p>
+ * Fixture for size n: n students, a main group enrolling all of them, n groups each
+ * enrolling one student, and an empty target group with room for n students.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+public class ServiceStatementBudgetTest {
+
+    @Autowired
+    private GroupService groupService;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private SqlStatementRecorder sql;
+    private String prefix;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        sql = SqlStatementRecorder.attach(dataSource);
+        prefix = "budget-" + UUID.randomUUID().toString().substring(0, 8);
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM groups WHERE code LIKE ?", prefix + "-%");
+        jdbcTemplate.update("DELETE FROM students WHERE email LIKE ?", prefix + "-%");
+    }
+
+    private void seed(int rows) {
+        jdbcTemplate.update("""
+                INSERT INTO students (first_name, last_name, email, age)
+                SELECT 'First' || i, 'Last' || i, ? || '-' || i || '@example.com', 20
+                FROM generate_series(1, ?) AS i
+                """, prefix, rows);
+        jdbcTemplate.update("""
+                INSERT INTO groups (name, code, start_date, end_date, max_capacity)
+                SELECT 'Budget ' || i, ? || '-' || i, CURRENT_DATE - 1, CURRENT_DATE + 30,
+                       CASE i WHEN 0 THEN ? + 1 WHEN -1 THEN ? ELSE 2 END
+                FROM generate_series(-1, ?) AS i
+                """, prefix, rows, rows, rows);
+        jdbcTemplate.update("""
+                INSERT INTO group_students (group_id, student_id)
+                SELECT g.id, s.id
+                FROM students s
+                JOIN groups g ON g.code = ? || '-0'
+                             OR g.code = ? || '-' || substring(s.email from '-(\\d+)@')
+                WHERE s.email LIKE ?
+                """, prefix, prefix, prefix + "-%");
+    }
+
+    private Long groupId(String suffix) {
+        return jdbcTemplate.queryForObject("SELECT id FROM groups WHERE code = ?", Long.class, prefix + "-" + suffix);
+    }
+
+    private Long studentId(int number) {
+        return jdbcTemplate.queryForObject("SELECT id FROM students WHERE email = ?", Long.class, email(number));
+    }
+
+    private List<Long> studentIds() {
+        return jdbcTemplate.queryForList("SELECT id FROM students WHERE email LIKE ? ORDER BY id", Long.class, prefix + "-%");
+    }
+
+    private String email(int number) {
+        return prefix + "-" + number + "@example.com";
+    }
+
+    private GroupDto groupDto(String code) {
+        return new GroupDto(null, "Budget", code, LocalDate.now(), LocalDate.now().plusDays(30), 5, null, null, 0);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 1000})
+    void getAllGroups(int rows) throws Exception {
+        seed(rows);
+        long after = groupId("-1") - 1;
+        sql.assertStatements(1, () -> groupService.getAllGroups(after, Math.min(rows + 2, 500)));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 1000})
+    void getGroupSummaries(int rows) throws Exception {
+        seed(rows);
+        long after = groupId("-1") - 1;
+        List<String> statements = sql.record(() -> groupService.getGroupSummaries(after, Math.min(rows + 2, 500)));
+        assertThat(statements).hasSize(1);
+        assertThat(statements.get(0)).doesNotContain("group_students");
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 1000})
+    void getGroupById(int rows) throws Exception {
+        seed(rows);
+        Long id = groupId("0");
+        sql.assertStatements(2, () -> groupService.getGroupById(id));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 1000})
+    void getGroupsByIds(int rows) throws Exception {
+        seed(rows);
+        List<Long> ids = jdbcTemplate.queryForList(
+                "SELECT id FROM groups WHERE code LIKE ? ORDER BY id DESC LIMIT 500", Long.class, prefix + "-%");
+        sql.assertStatements(1, () -> groupService.getGroupsByIds(ids));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {3, 10})
+    void getGroupsByIdsPadsInList(int rows) throws Exception {
+        seed(rows);
+        List<Long> ids = jdbcTemplate.queryForList(
+                "SELECT id FROM groups WHERE code LIKE ? ORDER BY id", Long.class, prefix + "-%");
+        List<BatchLookup<GroupDto>> result = new ArrayList<>();
+
+        List<String> statements = sql.record(() -> result.add(groupService.getGroupsByIds(ids)));
+
+        // rows + 2 groups: 5 ids are bound as 8 parameters, 12 as 16
+        assertThat(statements).singleElement()
+                .extracting(statement -> statement.chars().filter(c -> c == '?').count())
+                .isEqualTo(rows == 3 ? 8L : 16L);
+        assertThat(result.get(0).found().keySet()).containsExactlyElementsOf(ids);
+        assertThat(result.get(0).missing()).isEmpty();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 3})
+    void getGroupsByIdsRejectsNullIds(int size) throws Exception {
+        List<Long> ids = new ArrayList<>(Collections.nCopies(size - 1, 1L));
+        ids.add(null);
+
+        sql.assertStatements(0, () -> assertThatThrownBy(() -> groupService.getGroupsByIds(ids))
+                .isInstanceOf(InvalidBatchLookupException.class)
+                .hasMessage("Group ids must not be null"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 1000})
+    void getGroupByCode(int rows) throws Exception {
+        seed(rows);
+        sql.assertStatements(1, () -> groupService.getGroupByCode(prefix + "-0"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 1000})
+    void getGroupVersion(int rows) throws Exception {
+        seed(rows);
+        Long id = groupId("0");
+        sql.assertStatements(1, () -> groupService.getGroupVersion(id));
+        sql.assertStatements(1, () -> groupService.getGroupVersionByCode(prefix + "-0"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 1000})
+    void createGroup(int rows) throws Exception {
+        seed(rows);
+        // exists check, insert, one notification for all evicted caches
+        sql.assertStatements(3, () -> groupService.createGroup(groupDto(prefix + "-new")));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 1000})
+    void updateGroup(int rows) throws Exception {
+        seed(rows);
+        Long id = groupId("0");
+        // select, update, roster for the response, one notification
+        sql.assertStatements(4, () -> groupService.updateGroup(id, groupDto(prefix + "-0")));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 1000})
+    void deleteGroup(int rows) throws Exception {
+        seed(rows);
+        Long id = groupId("0");
+        // select, group delete (the database cascades the roster), one notification
+        sql.assertStatements(3, () -> groupService.deleteGroup(id));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 1000})
+    void addStudentToGroup(int rows) throws Exception {
+        seed(rows);
+        Long id = groupId("-1");
+        Long studentId = studentId(1);
+        sql.assertStatements(7, () -> groupService.addStudentToGroup(id, studentId));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 1000})
+    void addStudentsToGroup(int rows) throws Exception {
+        seed(rows);
+        Long id = groupId("-1");
+        List<Long> ids = studentIds();
+        sql.assertStatements(5, () -> groupService.addStudentsToGroup(id, ids));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 1000})
+    void removeStudentFromGroup(int rows) throws Exception {
+        seed(rows);
+        Long id = groupId("0");
+        Long studentId = studentId(1);
+        sql.assertStatements(6, () -> groupService.removeStudentFromGroup(id, studentId));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 1000})
+    void getGroupRoster(int rows) throws Exception {
+        seed(rows);
+        Long id = groupId("0");
+        sql.assertStatements(1, () -> groupService.getGroupRoster(id, null, 500, "id"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 1000})
+    void getGroupRosterByName(int rows) throws Exception {
+        seed(rows);
+        Long id = groupId("0");
+        sql.assertStatements(1, () -> groupService.getGroupRoster(id, null, 500, "name"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 1000})
+    void getGroupRosterOfEmptyGroup(int rows) throws Exception {
+        seed(rows);
+        Long id = groupId("-1");
+        sql.assertStatements(2, () -> groupService.getGroupRoster(id, null, 500, "id"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 1000})
+    void getGroupRosterPageByPage(int rows) throws Exception {
+        seed(rows);
+        Long id = groupId("0");
+        List<String> emails = new ArrayList<>();
+        String next = null;
+        do {
+            String cursor = next;
+            List<RosterPage> page = new ArrayList<>();
+            sql.assertStatements(1, () -> page.add(groupService.getGroupRoster(id, cursor, 300, "name")));
+            page.get(0).students().forEach(student -> emails.add(student.email()));
+            next = page.get(0).nextCursor();
+        } while (next != null);
+
+        assertThat(emails).hasSize(rows).doesNotHaveDuplicates();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 1000})
+    void getActiveGroups(int rows) throws Exception {
+        seed(rows);
+        sql.assertStatements(1, () -> groupService.getActiveGroups());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 1000})
+    void getActiveGroupSummaries(int rows) throws Exception {
+        seed(rows);
+        sql.assertStatements(1, () -> groupService.getActiveGroupSummaries());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 1000})
+    void getGroupsWithAvailableSpots(int rows) throws Exception {
+        seed(rows);
+        long after = groupId("-1") - 1;
+        sql.assertStatements(1, () -> groupService.getGroupsWithAvailableSpots(after, 500));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 1000})
+    void getGroupSummariesWithAvailableSpots(int rows) throws Exception {
+        seed(rows);
+        long after = groupId("-1") - 1;
+        sql.assertStatements(1, () -> groupService.getGroupSummariesWithAvailableSpots(after, 500));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 1000})
+    void searchGroups(int rows) throws Exception {
+        seed(rows);
+        sql.assertStatements(1, () -> groupService.searchGroups(prefix, null, 500));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 1000})
+    void autocompleteGroups(int rows) throws Exception {
+        seed(rows);
+        sql.assertStatements(0, () -> groupService.autocompleteGroups("budget", 50));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 1000})
+    void getGroupsByStudentEmail(int rows) throws Exception {
+        seed(rows);
+        sql.assertStatements(1, () -> groupService.getGroupsByStudentEmail(email(1)));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 1000})
+    void getGroupSummariesByStudentEmail(int rows) throws Exception {
+        seed(rows);
+        sql.assertStatements(1, () -> groupService.getGroupSummariesByStudentEmail(email(1)));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 1000})
+    void getGroupsOrderedByStudentCount(int rows) throws Exception {
+        seed(rows);
+        sql.assertStatements(1, () -> groupService.getGroupsOrderedByStudentCount(0, 500));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 1000})
+    void getGroupEnrollmentCounts(int rows) throws Exception {
+        seed(rows);
+        sql.assertStatements(1, () -> groupService.getGroupEnrollmentCounts(0, 500));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 1000})
+    void exportGroups(int rows) throws Exception {
+        seed(rows);
+        sql.assertStatements(1, () -> groupService.exportGroups(group -> {
+        }));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 1000})
+    void getAllStudents(int rows) throws Exception {
+        seed(rows);
+        sql.assertStatements(1, () -> studentService.getAllStudents());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 1000})
+    void getStudentById(int rows) throws Exception {
+        seed(rows);
+        Long id = studentId(1);
+        sql.assertStatements(1, () -> studentService.getStudentById(id));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 1000})
+    void getStudentsByIds(int rows) throws Exception {
+        seed(rows);
+        List<Long> ids = studentIds();
+        sql.assertStatements(1, () -> studentService.getStudentsByIds(ids.subList(0, Math.min(rows, 500))));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 1000})
+    void getStudentVersion(int rows) throws Exception {
+        seed(rows);
+        Long id = studentId(1);
+        sql.assertStatements(1, () -> studentService.getStudentVersion(id));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 1000})
+    void createStudent(int rows) throws Exception {
+        seed(rows);
+        sql.assertStatements(2, () -> studentService.createStudent(
+                new StudentDto("New", "Student", prefix + "-new@example.com", 20)));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 1000})
+    void updateStudent(int rows) throws Exception {
+        seed(rows);
+        Long id = studentId(1);
+        // The UPDATE ... RETURNING plus the cache invalidation notify
+        sql.assertStatements(2, () -> studentService.updateStudent(id,
+                new StudentDto("Updated", "Student", email(1), 21)));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 1000})
+    void patchStudent(int rows) throws Exception {
+        seed(rows);
+        Long id = studentId(1);
+        sql.assertStatements(2, () -> studentService.patchStudent(id, new StudentPatch(null, "Patched", null, null)));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 1000})
+    void deleteStudent(int rows) throws Exception {
+        seed(rows);
+        Long id = studentId(1);
+        // row lock, affected groups, delete, one notification for the student and both groups
+        sql.assertStatements(4, () -> studentService.deleteStudent(id));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 1000})
+    void exportStudents(int rows) throws Exception {
+        seed(rows);
+        sql.assertStatements(1, () -> studentService.exportStudents(student -> {
+        }));
+    }
+}
@@ -0,0 +1,41 @@
+package com.epam.java.persistance.demo.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+public class StatementTimeoutsTest {
+
+    @Autowired
+    private StatementTimeouts statementTimeouts;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void shouldCancelQueryInDatabaseAfterTimeout() {
+        long start = System.nanoTime();
+
+        assertThatThrownBy(() -> statementTimeouts.readOnly(Duration.ofMillis(200),
+                () -> jdbcTemplate.queryForObject("SELECT pg_sleep(5)", String.class)))
+                .isInstanceOf(QueryTimeoutException.class);
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(2));
+    }
+
+    @Test
+    void shouldOnlyApplyTimeoutInsideItsTransaction() {
+        String inside = statementTimeouts.readOnly(Duration.ofMillis(1500),
+                () -> jdbcTemplate.queryForObject("SHOW statement_timeout", String.class));
+
+        assertThat(inside).isEqualTo("1500ms");
+        assertThat(jdbcTemplate.queryForObject("SHOW statement_timeout", String.class)).isEqualTo("0");
+    }
+}
@@ -0,0 +1,129 @@
+package com.epam.java.persistance.demo.service;
+
+import com.epam.java.persistance.demo.domain.StudentImportReject;
+import com.epam.java.persistance.demo.domain.StudentImportResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+public class StudentImportServiceTest {
+
+    private static final String HEADER = "first_name,last_name,email,age\n";
+
+    @Autowired
+    private StudentImportService importService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String prefix;
+
+    @BeforeEach
+    void setUp() {
+        prefix = "import-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM students WHERE email LIKE ?", prefix + "-%");
+    }
+
+    @Test
+    void shouldRejectDuplicatesWithinFileAndAgainstExistingStudents() {
+        jdbcTemplate.update("INSERT INTO students (first_name, last_name, email, age) VALUES ('Old', 'Row', ?, 30)",
+                email("existing"));
+
+        StudentImportResult result = importService.importStudents(csv(
+                "Ann,First," + email("a") + ",20",
+                "Ann,Second," + email("a") + ",21",
+                "Bob,Clash," + email("existing") + ",22",
+                "Cid,New," + email("c") + ",23"));
+
+        // Assertions
+        assertThat(result.received()).isEqualTo(4);
+        assertThat(result.imported()).isEqualTo(2);
+        assertThat(result.rejects())
+                .extracting(StudentImportReject::recordNumber, StudentImportReject::email, StudentImportReject::reason)
+                .containsExactly(
+                        tuple(2L, email("a"), StudentImportReject.Reason.DUPLICATE_IN_FILE),
+                        tuple(3L, email("existing"), StudentImportReject.Reason.DUPLICATE_EMAIL));
+
+        // The first row per email wins and the existing student is left untouched
+        assertThat(lastName(email("a"))).isEqualTo("First");
+        assertThat(lastName(email("existing"))).isEqualTo("Row");
+        assertThat(lastName(email("c"))).isEqualTo("New");
+    }
+
+    @Test
+    void shouldRejectInvalidRowsAndImportTheRest() {
+        StudentImportResult result = importService.importStudents(csv(
+                "Ann,Valid," + email("a") + ",20",
+                ",NoFirstName," + email("b") + ",21",
+                "Cid,BadAge," + email("c") + ",twenty",
+                "Dan,NegativeAge," + email("d") + ",-1",
+                "Eve,NoEmail,,22",
+                "Fay,NoAge," + email("f") + ","));
+
+        // Assertions
+        assertThat(result.received()).isEqualTo(6);
+        assertThat(result.imported()).isEqualTo(1);
+        assertThat(result.rejects())
+                .extracting(StudentImportReject::recordNumber, StudentImportReject::reason)
+                .containsExactly(
+                        tuple(2L, StudentImportReject.Reason.INVALID),
+                        tuple(3L, StudentImportReject.Reason.INVALID),
+                        tuple(4L, StudentImportReject.Reason.INVALID),
+                        tuple(5L, StudentImportReject.Reason.INVALID),
+                        tuple(6L, StudentImportReject.Reason.INVALID));
+        assertThat(lastName(email("a"))).isEqualTo("Valid");
+    }
+
+    @Test
+    void shouldFailWholeImportWhenCsvIsStructurallyBroken() {
+        // A row with a missing column cannot be copied at all, so nothing is imported
+        assertThatThrownBy(() -> importService.importStudents(csv(
+                "Ann,Valid," + email("a") + ",20",
+                "Bob,Short," + email("b"))))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageStartingWith("Student import failed");
+
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM students WHERE email LIKE ?", Long.class, prefix + "-%")).isZero();
+    }
+
+    @Test
+    void shouldImportNothingFromEmptyFile() {
+        StudentImportResult empty = importService.importStudents(new ByteArrayInputStream(new byte[0]));
+        StudentImportResult headerOnly = importService.importStudents(csv());
+
+        // Assertions
+        assertThat(empty).isEqualTo(new StudentImportResult(0, 0, List.of()));
+        assertThat(headerOnly).isEqualTo(new StudentImportResult(0, 0, List.of()));
+    }
+
+    private String email(String name) {
+        return prefix + "-" + name + "@example.com";
+    }
+
+    private String lastName(String email) {
+        return jdbcTemplate.queryForObject("SELECT last_name FROM students WHERE email = ?", String.class, email);
+    }
+
+    private static ByteArrayInputStream csv(String... rows) {
+        String body = HEADER + String.join("\n", rows) + (rows.length > 0 ? "\n" : "");
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
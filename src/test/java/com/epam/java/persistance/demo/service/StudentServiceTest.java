@@ -1,17 +1,25 @@
 package com.epam.java.persistance.demo.service;
 
+import com.epam.java.persistance.demo.cache.CacheInvalidator;
+import com.epam.java.persistance.demo.domain.BatchLookup;
+import com.epam.java.persistance.demo.domain.GroupKey;
 import com.epam.java.persistance.demo.domain.StudentDto;
+import com.epam.java.persistance.demo.domain.StudentPatch;
 import com.epam.java.persistance.demo.entity.Student;
 import com.epam.java.persistance.demo.exception.DuplicateStudentException;
+import com.epam.java.persistance.demo.exception.InvalidBatchLookupException;
 import com.epam.java.persistance.demo.exception.StudentNotFoundException;
 import com.epam.java.persistance.demo.mapper.StudentMapper;
+import com.epam.java.persistance.demo.repository.GroupRepository;
 import com.epam.java.persistance.demo.repository.StudentRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -29,6 +37,12 @@ public class StudentServiceTest {
     @Mock
     private StudentMapper mapper;
 
+    @Mock
+    private GroupRepository groupRepository;
+
+    @Mock
+    private CacheInvalidator cacheInvalidator;
+
     @InjectMocks
     private StudentServiceImpl service;
 
@@ -75,6 +89,53 @@ public class StudentServiceTest {
         verify(repository, times(1)).findById(1L);
     }
 
+    @Test
+    void shouldReturnStudentsByIdsInRequestOrderAndReportMissing() {
+        // Mock repository response: ids 1..1500 exist, rows come back in arbitrary order
+        when(repository.findAllById(anyIterable())).thenAnswer(invocation -> {
+            List<Student> students = new ArrayList<>();
+            for (Long id : invocation.<Iterable<Long>>getArgument(0)) {
+                if (id <= 1500) {
+                    students.add(0, new Student(id, "First" + id, "Last" + id, id + "@example.com", 20));
+                }
+            }
+            return students;
+        });
+        when(mapper.toStudentDto(any(Student.class))).thenAnswer(invocation -> {
+            Student student = invocation.getArgument(0);
+            return new StudentDto(student.getFirstName(), student.getLastName(), student.getEmail(), student.getAge());
+        });
+
+        // Request 2500 ids in descending order, with one repeated id
+        List<Long> ids = new ArrayList<>();
+        for (long id = 2500; id >= 1; id--) {
+            ids.add(id);
+        }
+        ids.add(7L);
+
+        // Execute service method
+        BatchLookup<StudentDto> result = service.getStudentsByIds(ids);
+
+        // Assertions
+        assertThat(result.found()).hasSize(1500);
+        assertThat(result.found().keySet()).first().isEqualTo(1500L);
+        assertThat(result.found().get(7L).firstName()).isEqualTo("First7");
+        assertThat(result.missing()).hasSize(1000).first().isEqualTo(2500L);
+
+        // Verify the ids were resolved in chunks rather than one by one
+        verify(repository, times(3)).findAllById(anyIterable());
+        verify(repository, never()).findById(anyLong());
+    }
+
+    @Test
+    void shouldRejectNullIdsInBatchLookup() {
+        // Assertions
+        assertThatThrownBy(() -> service.getStudentsByIds(Arrays.asList(1L, null)))
+                .isInstanceOf(InvalidBatchLookupException.class)
+                .hasMessage("Student ids must not be null");
+        verifyNoInteractions(repository);
+    }
+
     @Test
     void shouldThrowExceptionWhenStudentNotFoundById() {
         // Mock repository response
@@ -126,49 +187,89 @@ public class StudentServiceTest {
 
     @Test
     void shouldUpdateStudent() {
-        // Mock repository and mapper responses
+        // Mock repository response
         Long id = 1L;
         StudentDto studentDto = new StudentDto("Updated", "Doe", "updated.doe@example.com", 25);
-        Student existingStudent = new Student(id, "John", "Doe", "john.doe@example.com", 20);
-        Student updatedStudent = new Student(id, "Updated", "Doe", "updated.doe@example.com", 25);
-
-        when(repository.findById(id)).thenReturn(Optional.of(existingStudent));
-        when(repository.findByEmail(studentDto.email())).thenReturn(Optional.empty());
-        when(repository.save(existingStudent)).thenReturn(updatedStudent);
-        when(mapper.toStudentDto(updatedStudent)).thenReturn(studentDto);
+        StudentPatch patch = new StudentPatch("Updated", "Doe", "updated.doe@example.com", 25);
+        when(repository.updateStudent(id, patch)).thenReturn(Optional.of(studentDto));
 
         // Execute service method
         StudentDto result = service.updateStudent(id, studentDto);
 
         // Assertions
         assertThat(result.firstName()).isEqualTo("Updated");
-        verify(repository, times(1)).findById(id);
-        verify(repository, times(1)).save(existingStudent);
+        verify(repository, times(1)).updateStudent(id, patch);
+        verify(repository, never()).findById(anyLong());
+        verify(repository, never()).findByEmail(anyString());
+        verify(cacheInvalidator, times(1)).evictStudent(id);
+    }
+
+    @Test
+    void shouldPatchOnlySuppliedFields() {
+        // Mock repository response
+        StudentPatch patch = new StudentPatch(null, null, null, 30);
+        when(repository.updateStudent(1L, patch))
+                .thenReturn(Optional.of(new StudentDto("John", "Doe", "john.doe@example.com", 30)));
+
+        // Execute service method
+        StudentDto result = service.patchStudent(1L, patch);
+
+        // Assertions
+        assertThat(result.age()).isEqualTo(30);
+        assertThat(result.firstName()).isEqualTo("John");
+        verify(cacheInvalidator, times(1)).evictStudent(1L);
+    }
+
+    @Test
+    void shouldThrowExceptionWhenUpdatingToDuplicateEmail() {
+        // Unique constraint violation raised by the UPDATE itself
+        StudentPatch patch = new StudentPatch(null, null, "jane.doe@example.com", null);
+        when(repository.updateStudent(1L, patch)).thenThrow(new DuplicateKeyException("students_email_key"));
+
+        // Assertions
+        assertThatThrownBy(() -> service.patchStudent(1L, patch))
+                .isInstanceOf(DuplicateStudentException.class)
+                .hasMessage("A student with email jane.doe@example.com already exists");
+        verify(cacheInvalidator, never()).evictStudent(anyLong());
+    }
+
+    @Test
+    void shouldThrowExceptionWhenUpdatingNonExistentStudent() {
+        when(repository.updateStudent(eq(1L), any(StudentPatch.class))).thenReturn(Optional.empty());
+
+        // Assertions
+        assertThatThrownBy(() -> service.updateStudent(1L, new StudentDto("John", "Doe", "john.doe@example.com", 20)))
+                .isInstanceOf(StudentNotFoundException.class)
+                .hasMessage("Student with ID 1 not found");
     }
 
     @Test
     void shouldDeleteStudent() {
         // Mock repository response
-        when(repository.existsById(1L)).thenReturn(true);
+        Student student = new Student(1L, "John", "Doe", "john.doe@example.com", 20);
+        when(repository.lockById(1L)).thenReturn(Optional.of(student));
+        when(groupRepository.findKeysByStudentId(1L)).thenReturn(List.of(new GroupKey(7L, "G7")));
 
         // Execute service method
         service.deleteStudent(1L);
 
         // Verify repository interactions
-        verify(repository, times(1)).existsById(1L);
-        verify(repository, times(1)).deleteById(1L);
+        verify(repository, times(1)).lockById(1L);
+        verify(repository, times(1)).delete(student);
+        verify(cacheInvalidator, times(1)).evictStudent(1L);
+        verify(cacheInvalidator, times(1)).evictGroup(7L, "G7");
     }
 
     @Test
     void shouldThrowExceptionWhenDeletingNonExistentStudent() {
-        when(repository.existsById(1L)).thenReturn(false);
+        when(repository.lockById(1L)).thenReturn(Optional.empty());
 
         // Assertions
         assertThatThrownBy(() -> service.deleteStudent(1L))
                 .isInstanceOf(StudentNotFoundException.class)
                 .hasMessage("Student with ID 1 not found");
 
-        verify(repository, times(1)).existsById(1L);
-        verify(repository, never()).deleteById(anyLong());
+        verify(repository, times(1)).lockById(1L);
+        verify(repository, never()).delete(any(Student.class));
     }
 }
@@ -0,0 +1,74 @@
+package com.epam.java.persistance.demo.support;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Captures the SQL issued on the calling thread while a unit of work runs, so tests can
+ * pin the exact number of statements a method executes. Hooks into the application's
+ * proxied {@code DataSource}; a JDBC batch counts as one statement.
+ */
+public final class SqlStatementRecorder implements QueryExecutionListener {
+
+    private static final Map<ProxyDataSource, SqlStatementRecorder> RECORDERS = new ConcurrentHashMap<>();
+
+    private final ThreadLocal<List<String>> recording = new ThreadLocal<>();
+
+    private SqlStatementRecorder() {
+    }
+
+    public static SqlStatementRecorder attach(DataSource dataSource) throws SQLException {
+        ProxyDataSource proxy = dataSource instanceof ProxyDataSource p ? p : dataSource.unwrap(ProxyDataSource.class);
+        return RECORDERS.computeIfAbsent(proxy, key -> {
+            SqlStatementRecorder recorder = new SqlStatementRecorder();
+            key.getProxyConfig().getQueryListener().addListener(recorder);
+            return recorder;
+        });
+    }
+
+    public List<String> record(Work work) throws Exception {
+        List<String> statements = new ArrayList<>();
+        recording.set(statements);
+        try {
+            work.run();
+        } finally {
+            recording.remove();
+        }
+        return statements;
+    }
+
+    public void assertStatements(int expected, Work work) throws Exception {
+        List<String> statements = record(work);
+        assertThat(statements)
+                .as("SQL statements executed (%d expected)", expected)
+                .hasSize(expected);
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        List<String> statements = recording.get();
+        if (statements != null) {
+            statements.add(queryInfoList.get(0).getQuery());
+        }
+    }
+
+    @FunctionalInterface
+    public interface Work {
+        void run() throws Exception;
+    }
+}